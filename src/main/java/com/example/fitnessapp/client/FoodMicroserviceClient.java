@@ -12,12 +12,23 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "food-microservice", url = "${fitnessapp.microservice.food.url}")
+@FeignClient(
+    name = "food-microservice",
+    url = "${fitnessapp.microservice.food.url}",
+    configuration = FoodMicroserviceClientConfiguration.class
+)
 public interface FoodMicroserviceClient {
 
     @PostMapping("/api/foods/calc")
     NutritionCalculationResponse calculateCalories(@RequestBody NutritionCalculationRequest request);
 
+    @GetMapping("/api/foods")
+    MicroserviceFoodPageResponse listFoods(
+        @RequestParam("page") int page,
+        @RequestParam("size") int size,
+        @RequestParam("sort") String sort
+    );
+
     @GetMapping("/api/foods/search")
     MicroserviceFoodPageResponse searchFoods(@RequestParam("name") String name);
 
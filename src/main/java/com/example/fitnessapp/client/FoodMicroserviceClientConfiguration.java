@@ -0,0 +1,89 @@
+package com.example.fitnessapp.client;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import feign.Client;
+import feign.Request;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+
+public class FoodMicroserviceClientConfiguration implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodMicroserviceClientConfiguration.class);
+
+    private CloseableHttpClient pooledClient;
+
+    @Bean
+    public Request.Options foodMicroserviceRequestOptions(FitnessAppProperties properties) {
+        FitnessAppProperties.Microservice.Food food = properties.getMicroservice().getFood();
+        return new Request.Options(
+            food.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+            food.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS,
+            true
+        );
+    }
+
+    @Bean
+    public Client foodMicroserviceTransport(FitnessAppProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        FitnessAppProperties.Microservice.Food food = properties.getMicroservice().getFood();
+        logger.info(
+            "Food microservice transport: {}, connect timeout {}, read timeout {}",
+            food.getTransport(), food.getConnectTimeout(), food.getReadTimeout()
+        );
+        return switch (food.getTransport()) {
+            case JDK_HTTP2 -> new Http2Client(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(food.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build());
+            case APACHE_HC5 -> new ApacheHttp5Client(pooledClient(food, meterRegistry.getIfAvailable()));
+        };
+    }
+
+    private CloseableHttpClient pooledClient(FitnessAppProperties.Microservice.Food food, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(food.getMaxConnections())
+            .setMaxConnPerRoute(food.getMaxConnectionsPerRoute())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(food.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(food.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(food.getConnectionTimeToLive()))
+                .build())
+            .build();
+        if (meterRegistry != null) {
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "food-microservice").bindTo(meterRegistry);
+        }
+        pooledClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(food.getConnectionRequestTimeout()))
+                .build())
+            .evictExpiredConnections()
+            .evictIdleConnections(TimeValue.of(food.getIdleEvictAfter()))
+            .build();
+        return pooledClient;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+    }
+}
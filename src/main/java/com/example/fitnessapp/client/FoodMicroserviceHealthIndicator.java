@@ -0,0 +1,38 @@
+package com.example.fitnessapp.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+@Component("foodMicroservice")
+public class FoodMicroserviceHealthIndicator implements HealthIndicator {
+
+    private static final Status DEGRADED = new Status("DEGRADED", "Serving cached food data while the circuit is open");
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public FoodMicroserviceHealthIndicator(CircuitBreaker foodCircuitBreaker, Bulkhead foodBulkhead) {
+        this.circuitBreaker = foodCircuitBreaker;
+        this.bulkhead = foodBulkhead;
+    }
+
+    @Override
+    public Health health() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        Health.Builder builder = state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN
+            ? Health.status(DEGRADED)
+            : Health.up();
+        return builder
+            .withDetail("circuitBreakerState", state)
+            .withDetail("failureRate", metrics.getFailureRate())
+            .withDetail("slowCallRate", metrics.getSlowCallRate())
+            .withDetail("notPermittedCalls", metrics.getNumberOfNotPermittedCalls())
+            .withDetail("availableConcurrentCalls", bulkhead.getMetrics().getAvailableConcurrentCalls())
+            .build();
+    }
+}
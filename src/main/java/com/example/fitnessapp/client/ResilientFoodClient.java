@@ -0,0 +1,125 @@
+package com.example.fitnessapp.client;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.config.FoodResilienceConfig;
+import com.example.fitnessapp.dto.FoodDto;
+import com.example.fitnessapp.dto.MicroserviceFoodPageResponse;
+import com.example.fitnessapp.dto.NutritionCalculationRequest;
+import com.example.fitnessapp.dto.NutritionCalculationResponse;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ResilientFoodClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientFoodClient.class);
+
+    private final FoodMicroserviceClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+    private final MeterRegistry meterRegistry;
+    private final Cache<StaleKey, Object> lastKnownGood;
+
+    public ResilientFoodClient(
+        FoodMicroserviceClient delegate,
+        CircuitBreaker foodCircuitBreaker,
+        Bulkhead foodBulkhead,
+        Retry foodRetry,
+        FitnessAppProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.circuitBreaker = foodCircuitBreaker;
+        this.bulkhead = foodBulkhead;
+        this.retry = foodRetry;
+        this.meterRegistry = meterRegistry;
+        FitnessAppProperties.Microservice.Food.Resilience resilience = properties.getMicroservice().getFood().getResilience();
+        this.lastKnownGood = Caffeine.newBuilder()
+            .maximumSize(resilience.getStaleMaximumSize())
+            .expireAfterWrite(resilience.getStaleExpireAfterWrite())
+            .build();
+    }
+
+    public MicroserviceFoodPageResponse searchFoods(String name) {
+        return withFallback("search", name, () -> delegate.searchFoods(name), true);
+    }
+
+    public MicroserviceFoodPageResponse listFoods(int page, int size, String sort) {
+        return call("list", () -> delegate.listFoods(page, size, sort), true);
+    }
+
+    public FoodDto getFoodById(Long id) {
+        return withFallback("food", id, () -> delegate.getFoodById(id), true);
+    }
+
+    public NutritionCalculationResponse calculateCalories(NutritionCalculationRequest request) {
+        return withFallback("calc", request, () -> delegate.calculateCalories(request), false);
+    }
+
+    public FoodDto createFood(FoodDto food) {
+        return call("create", () -> delegate.createFood(food), false);
+    }
+
+    public FoodDto updateFood(Long id, FoodDto food) {
+        return call("update", () -> delegate.updateFood(id, food), false);
+    }
+
+    private <T> T withFallback(String operation, Object key, Supplier<T> call, boolean idempotent) {
+        StaleKey staleKey = new StaleKey(operation, key);
+        try {
+            T result = decorate(call, idempotent).get();
+            if (result != null) {
+                lastKnownGood.put(staleKey, result);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (!isUnavailable(e)) {
+                throw e;
+            }
+            @SuppressWarnings("unchecked")
+            T stale = (T) lastKnownGood.getIfPresent(staleKey);
+            if (stale == null) {
+                throw new FoodServiceUnavailableException("Food microservice unavailable for " + operation, e);
+            }
+            logger.warn("Food microservice unavailable for {} {}, serving stale result: {}", operation, key, e.getMessage());
+            meterRegistry.counter("fitnessapp.food.stale.served", "operation", operation).increment();
+            return stale;
+        }
+    }
+
+    private <T> T call(String operation, Supplier<T> call, boolean idempotent) {
+        try {
+            return decorate(call, idempotent).get();
+        } catch (RuntimeException e) {
+            if (!isUnavailable(e)) {
+                throw e;
+            }
+            throw new FoodServiceUnavailableException("Food microservice unavailable for " + operation, e);
+        }
+    }
+
+    private <T> Supplier<T> decorate(Supplier<T> call, boolean idempotent) {
+        Supplier<T> decorated = CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call));
+        return idempotent ? Retry.decorateSupplier(retry, decorated) : decorated;
+    }
+
+    private static boolean isUnavailable(Throwable e) {
+        return e instanceof CallNotPermittedException
+            || e instanceof BulkheadFullException
+            || FoodResilienceConfig.isTransientFailure(e);
+    }
+
+    private record StaleKey(String operation, Object key) {}
+}
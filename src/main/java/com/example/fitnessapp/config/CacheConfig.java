@@ -0,0 +1,71 @@
+package com.example.fitnessapp.config;
+
+import com.example.fitnessapp.service.FoodService;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public CacheManager cacheManager(FitnessAppProperties properties, ObjectProvider<FoodService> foodService) {
+        Map<String, Function<Object, Object>> refreshers = Map.of(
+            "foodSearchCache", key -> foodService.getObject().fetchSearchResult((String) key),
+            "foodCache", key -> foodService.getObject().fetchFoodById((Long) key)
+        );
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(builder(properties.getCache().getDefaults()));
+        properties.getCache().getSpecs().forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = builder(spec);
+            Function<Object, Object> refresher = refreshers.get(name);
+            if (refresher != null && spec.getRefreshAfterWrite() != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                cacheManager.registerCustomCache(name, builder.build(refreshingLoader(name, refresher)));
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+            logger.info(
+                "Configured cache {}: maximum size {}, expire after write {}, refresh after write {}",
+                name, spec.getMaximumSize(), spec.getExpireAfterWrite(), spec.getRefreshAfterWrite()
+            );
+        });
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> builder(FitnessAppProperties.Cache.Spec spec) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(spec.getMaximumSize())
+            .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        return builder;
+    }
+
+    private static CacheLoader<Object, Object> refreshingLoader(String name, Function<Object, Object> refresher) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                logger.debug("Refreshing {} entry in the background: {}", name, key);
+                return refresher.apply(key);
+            }
+        };
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.fitnessapp.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -9,6 +12,11 @@ public class FitnessAppProperties {
 
     private Data data = new Data();
     private Microservice microservice = new Microservice();
+    private Totals totals = new Totals();
+    private Cache cache = new Cache();
+    private Retention retention = new Retention();
+    private Enrichment enrichment = new Enrichment();
+    private Reports reports = new Reports();
 
     public Data getData() {
         return data;
@@ -26,6 +34,46 @@ public class FitnessAppProperties {
         this.microservice = microservice;
     }
 
+    public Totals getTotals() {
+        return totals;
+    }
+
+    public void setTotals(Totals totals) {
+        this.totals = totals;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Retention getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Retention retention) {
+        this.retention = retention;
+    }
+
+    public Enrichment getEnrichment() {
+        return enrichment;
+    }
+
+    public void setEnrichment(Enrichment enrichment) {
+        this.enrichment = enrichment;
+    }
+
+    public Reports getReports() {
+        return reports;
+    }
+
+    public void setReports(Reports reports) {
+        this.reports = reports;
+    }
+
     public static class Data {
         private boolean initialize = true;
 
@@ -51,6 +99,25 @@ public class FitnessAppProperties {
 
         public static class Food {
             private String url = "http://localhost:8081";
+            private Transport transport = Transport.APACHE_HC5;
+            private Duration connectTimeout = Duration.ofSeconds(2);
+            private Duration readTimeout = Duration.ofSeconds(5);
+            private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+            private int maxConnections = 50;
+            private int maxConnectionsPerRoute = 20;
+            private Duration connectionTimeToLive = Duration.ofMinutes(5);
+            private Duration idleEvictAfter = Duration.ofSeconds(30);
+            private int batchMaxItems = 100;
+            private int batchParallelism = 8;
+            private int batchQueueCapacity = 256;
+            private Duration batchTimeout = Duration.ofSeconds(10);
+            private long nutrientCacheMaximumSize = 50_000;
+            private Duration nutrientCacheExpireAfterWrite = Duration.ofHours(6);
+            private double nutrientVerifySampleRate = 0.01;
+            private Duration coalesceTimeout = Duration.ofSeconds(10);
+            private ServingSizes servingSizes = new ServingSizes();
+            private Resilience resilience = new Resilience();
+            private Catalog catalog = new Catalog();
 
             public String getUrl() {
                 return url;
@@ -59,7 +126,684 @@ public class FitnessAppProperties {
             public void setUrl(String url) {
                 this.url = url;
             }
+
+            public Transport getTransport() {
+                return transport;
+            }
+
+            public void setTransport(Transport transport) {
+                this.transport = transport;
+            }
+
+            public Duration getConnectTimeout() {
+                return connectTimeout;
+            }
+
+            public void setConnectTimeout(Duration connectTimeout) {
+                this.connectTimeout = connectTimeout;
+            }
+
+            public Duration getReadTimeout() {
+                return readTimeout;
+            }
+
+            public void setReadTimeout(Duration readTimeout) {
+                this.readTimeout = readTimeout;
+            }
+
+            public Duration getConnectionRequestTimeout() {
+                return connectionRequestTimeout;
+            }
+
+            public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+                this.connectionRequestTimeout = connectionRequestTimeout;
+            }
+
+            public int getMaxConnections() {
+                return maxConnections;
+            }
+
+            public void setMaxConnections(int maxConnections) {
+                this.maxConnections = maxConnections;
+            }
+
+            public int getMaxConnectionsPerRoute() {
+                return maxConnectionsPerRoute;
+            }
+
+            public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+                this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            }
+
+            public Duration getConnectionTimeToLive() {
+                return connectionTimeToLive;
+            }
+
+            public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+                this.connectionTimeToLive = connectionTimeToLive;
+            }
+
+            public Duration getIdleEvictAfter() {
+                return idleEvictAfter;
+            }
+
+            public void setIdleEvictAfter(Duration idleEvictAfter) {
+                this.idleEvictAfter = idleEvictAfter;
+            }
+
+            public int getBatchMaxItems() {
+                return batchMaxItems;
+            }
+
+            public void setBatchMaxItems(int batchMaxItems) {
+                this.batchMaxItems = batchMaxItems;
+            }
+
+            public int getBatchParallelism() {
+                return batchParallelism;
+            }
+
+            public void setBatchParallelism(int batchParallelism) {
+                this.batchParallelism = batchParallelism;
+            }
+
+            public int getBatchQueueCapacity() {
+                return batchQueueCapacity;
+            }
+
+            public void setBatchQueueCapacity(int batchQueueCapacity) {
+                this.batchQueueCapacity = batchQueueCapacity;
+            }
+
+            public Duration getBatchTimeout() {
+                return batchTimeout;
+            }
+
+            public void setBatchTimeout(Duration batchTimeout) {
+                this.batchTimeout = batchTimeout;
+            }
+
+            public long getNutrientCacheMaximumSize() {
+                return nutrientCacheMaximumSize;
+            }
+
+            public void setNutrientCacheMaximumSize(long nutrientCacheMaximumSize) {
+                this.nutrientCacheMaximumSize = nutrientCacheMaximumSize;
+            }
+
+            public Duration getNutrientCacheExpireAfterWrite() {
+                return nutrientCacheExpireAfterWrite;
+            }
+
+            public void setNutrientCacheExpireAfterWrite(Duration nutrientCacheExpireAfterWrite) {
+                this.nutrientCacheExpireAfterWrite = nutrientCacheExpireAfterWrite;
+            }
+
+            public double getNutrientVerifySampleRate() {
+                return nutrientVerifySampleRate;
+            }
+
+            public void setNutrientVerifySampleRate(double nutrientVerifySampleRate) {
+                this.nutrientVerifySampleRate = nutrientVerifySampleRate;
+            }
+
+            public Duration getCoalesceTimeout() {
+                return coalesceTimeout;
+            }
+
+            public void setCoalesceTimeout(Duration coalesceTimeout) {
+                this.coalesceTimeout = coalesceTimeout;
+            }
+
+            public ServingSizes getServingSizes() {
+                return servingSizes;
+            }
+
+            public void setServingSizes(ServingSizes servingSizes) {
+                this.servingSizes = servingSizes;
+            }
+
+            public Catalog getCatalog() {
+                return catalog;
+            }
+
+            public void setCatalog(Catalog catalog) {
+                this.catalog = catalog;
+            }
+
+            public Resilience getResilience() {
+                return resilience;
+            }
+
+            public void setResilience(Resilience resilience) {
+                this.resilience = resilience;
+            }
+
+            public enum Transport {
+                APACHE_HC5,
+                JDK_HTTP2
+            }
+
+            public static class ServingSizes {
+                private Map<String, Double> densities = new LinkedHashMap<>();
+                private Map<String, Double> pieceWeights = new LinkedHashMap<>();
+
+                public Map<String, Double> getDensities() {
+                    return densities;
+                }
+
+                public void setDensities(Map<String, Double> densities) {
+                    this.densities = densities;
+                }
+
+                public Map<String, Double> getPieceWeights() {
+                    return pieceWeights;
+                }
+
+                public void setPieceWeights(Map<String, Double> pieceWeights) {
+                    this.pieceWeights = pieceWeights;
+                }
+            }
+
+            public static class Catalog {
+                private boolean enabled = true;
+                private int pageSize = 200;
+                private Duration syncInterval = Duration.ofMinutes(5);
+                private Duration fullSyncInterval = Duration.ofHours(6);
+                private Duration maxStaleness = Duration.ofMinutes(15);
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getPageSize() {
+                    return pageSize;
+                }
+
+                public void setPageSize(int pageSize) {
+                    this.pageSize = pageSize;
+                }
+
+                public Duration getSyncInterval() {
+                    return syncInterval;
+                }
+
+                public void setSyncInterval(Duration syncInterval) {
+                    this.syncInterval = syncInterval;
+                }
+
+                public Duration getFullSyncInterval() {
+                    return fullSyncInterval;
+                }
+
+                public void setFullSyncInterval(Duration fullSyncInterval) {
+                    this.fullSyncInterval = fullSyncInterval;
+                }
+
+                public Duration getMaxStaleness() {
+                    return maxStaleness;
+                }
+
+                public void setMaxStaleness(Duration maxStaleness) {
+                    this.maxStaleness = maxStaleness;
+                }
+            }
+
+            public static class Resilience {
+                private float failureRateThreshold = 50;
+                private float slowCallRateThreshold = 80;
+                private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+                private int slidingWindowSize = 20;
+                private int minimumNumberOfCalls = 10;
+                private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+                private int permittedCallsInHalfOpenState = 3;
+                private int maxConcurrentCalls = 20;
+                private Duration maxWaitDuration = Duration.ZERO;
+                private int retryMaxAttempts = 3;
+                private Duration retryInitialInterval = Duration.ofMillis(200);
+                private long staleMaximumSize = 10_000;
+                private Duration staleExpireAfterWrite = Duration.ofHours(24);
+
+                public float getFailureRateThreshold() {
+                    return failureRateThreshold;
+                }
+
+                public void setFailureRateThreshold(float failureRateThreshold) {
+                    this.failureRateThreshold = failureRateThreshold;
+                }
+
+                public float getSlowCallRateThreshold() {
+                    return slowCallRateThreshold;
+                }
+
+                public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+                    this.slowCallRateThreshold = slowCallRateThreshold;
+                }
+
+                public Duration getSlowCallDurationThreshold() {
+                    return slowCallDurationThreshold;
+                }
+
+                public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+                    this.slowCallDurationThreshold = slowCallDurationThreshold;
+                }
+
+                public int getSlidingWindowSize() {
+                    return slidingWindowSize;
+                }
+
+                public void setSlidingWindowSize(int slidingWindowSize) {
+                    this.slidingWindowSize = slidingWindowSize;
+                }
+
+                public int getMinimumNumberOfCalls() {
+                    return minimumNumberOfCalls;
+                }
+
+                public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+                    this.minimumNumberOfCalls = minimumNumberOfCalls;
+                }
+
+                public Duration getWaitDurationInOpenState() {
+                    return waitDurationInOpenState;
+                }
+
+                public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+                    this.waitDurationInOpenState = waitDurationInOpenState;
+                }
+
+                public int getPermittedCallsInHalfOpenState() {
+                    return permittedCallsInHalfOpenState;
+                }
+
+                public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+                    this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+                }
+
+                public int getMaxConcurrentCalls() {
+                    return maxConcurrentCalls;
+                }
+
+                public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+                    this.maxConcurrentCalls = maxConcurrentCalls;
+                }
+
+                public Duration getMaxWaitDuration() {
+                    return maxWaitDuration;
+                }
+
+                public void setMaxWaitDuration(Duration maxWaitDuration) {
+                    this.maxWaitDuration = maxWaitDuration;
+                }
+
+                public int getRetryMaxAttempts() {
+                    return retryMaxAttempts;
+                }
+
+                public void setRetryMaxAttempts(int retryMaxAttempts) {
+                    this.retryMaxAttempts = retryMaxAttempts;
+                }
+
+                public Duration getRetryInitialInterval() {
+                    return retryInitialInterval;
+                }
+
+                public void setRetryInitialInterval(Duration retryInitialInterval) {
+                    this.retryInitialInterval = retryInitialInterval;
+                }
+
+                public long getStaleMaximumSize() {
+                    return staleMaximumSize;
+                }
+
+                public void setStaleMaximumSize(long staleMaximumSize) {
+                    this.staleMaximumSize = staleMaximumSize;
+                }
+
+                public Duration getStaleExpireAfterWrite() {
+                    return staleExpireAfterWrite;
+                }
+
+                public void setStaleExpireAfterWrite(Duration staleExpireAfterWrite) {
+                    this.staleExpireAfterWrite = staleExpireAfterWrite;
+                }
+            }
         }
     }
-}
 
+    public static class Totals {
+        private boolean incremental = true;
+        private int reconcileWindowDays = 7;
+        private int reconcileBatchSize = 500;
+
+        public boolean isIncremental() {
+            return incremental;
+        }
+
+        public void setIncremental(boolean incremental) {
+            this.incremental = incremental;
+        }
+
+        public int getReconcileWindowDays() {
+            return reconcileWindowDays;
+        }
+
+        public void setReconcileWindowDays(int reconcileWindowDays) {
+            this.reconcileWindowDays = reconcileWindowDays;
+        }
+
+        public int getReconcileBatchSize() {
+            return reconcileBatchSize;
+        }
+
+        public void setReconcileBatchSize(int reconcileBatchSize) {
+            this.reconcileBatchSize = reconcileBatchSize;
+        }
+    }
+
+    public static class Cache {
+        private Spec defaults = new Spec(1_000, Duration.ofHours(1), null);
+        private Map<String, Spec> specs = new LinkedHashMap<>(Map.of(
+            "foodSearchCache", new Spec(10_000, Duration.ofHours(6), Duration.ofHours(1)),
+            "foodCache", new Spec(5_000, Duration.ofHours(6), Duration.ofHours(1)),
+            "reportCache", new Spec(2_000, Duration.ofHours(1), null),
+            "dashboardCache", new Spec(10_000, Duration.ofHours(1), null)
+        ));
+        private long searchNegativeMaximumSize = 10_000;
+        private Duration searchNegativeTtl = Duration.ofMinutes(1);
+        private Duration searchErrorTtl = Duration.ofSeconds(10);
+        private Snapshot snapshot = new Snapshot();
+
+        public Spec getDefaults() {
+            return defaults;
+        }
+
+        public void setDefaults(Spec defaults) {
+            this.defaults = defaults;
+        }
+
+        public Map<String, Spec> getSpecs() {
+            return specs;
+        }
+
+        public void setSpecs(Map<String, Spec> specs) {
+            this.specs = specs;
+        }
+
+        public long getSearchNegativeMaximumSize() {
+            return searchNegativeMaximumSize;
+        }
+
+        public void setSearchNegativeMaximumSize(long searchNegativeMaximumSize) {
+            this.searchNegativeMaximumSize = searchNegativeMaximumSize;
+        }
+
+        public Duration getSearchNegativeTtl() {
+            return searchNegativeTtl;
+        }
+
+        public void setSearchNegativeTtl(Duration searchNegativeTtl) {
+            this.searchNegativeTtl = searchNegativeTtl;
+        }
+
+        public Duration getSearchErrorTtl() {
+            return searchErrorTtl;
+        }
+
+        public void setSearchErrorTtl(Duration searchErrorTtl) {
+            this.searchErrorTtl = searchErrorTtl;
+        }
+
+        public Snapshot getSnapshot() {
+            return snapshot;
+        }
+
+        public void setSnapshot(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        public static class Snapshot {
+            private boolean enabled = true;
+            private String path = "cache/food-cache.snapshot";
+            private int maxEntries = 5_000;
+            private int popularFoods = 1_000;
+            private Duration maxAge = Duration.ofHours(24);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getPath() {
+                return path;
+            }
+
+            public void setPath(String path) {
+                this.path = path;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public int getPopularFoods() {
+                return popularFoods;
+            }
+
+            public void setPopularFoods(int popularFoods) {
+                this.popularFoods = popularFoods;
+            }
+
+            public Duration getMaxAge() {
+                return maxAge;
+            }
+
+            public void setMaxAge(Duration maxAge) {
+                this.maxAge = maxAge;
+            }
+        }
+
+        public static class Spec {
+            private long maximumSize = 1_000;
+            private Duration expireAfterWrite = Duration.ofHours(1);
+            private Duration refreshAfterWrite;
+
+            public Spec() {
+            }
+
+            public Spec(long maximumSize, Duration expireAfterWrite, Duration refreshAfterWrite) {
+                this.maximumSize = maximumSize;
+                this.expireAfterWrite = expireAfterWrite;
+                this.refreshAfterWrite = refreshAfterWrite;
+            }
+
+            public long getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(long maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            public Duration getExpireAfterWrite() {
+                return expireAfterWrite;
+            }
+
+            public void setExpireAfterWrite(Duration expireAfterWrite) {
+                this.expireAfterWrite = expireAfterWrite;
+            }
+
+            public Duration getRefreshAfterWrite() {
+                return refreshAfterWrite;
+            }
+
+            public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+                this.refreshAfterWrite = refreshAfterWrite;
+            }
+        }
+    }
+
+    public static class Retention {
+        private boolean enabled = true;
+        private int days = 90;
+        private int batchSize = 500;
+        private Duration pauseBetweenBatches = Duration.ofMillis(100);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public void setDays(int days) {
+            this.days = days;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getPauseBetweenBatches() {
+            return pauseBetweenBatches;
+        }
+
+        public void setPauseBetweenBatches(Duration pauseBetweenBatches) {
+            this.pauseBetweenBatches = pauseBetweenBatches;
+        }
+    }
+
+    public static class Enrichment {
+        private boolean enabled = true;
+        private int batchSize = 50;
+        private Duration leaseDuration = Duration.ofMinutes(2);
+        private int maxAttempts = 8;
+        private Duration initialBackoff = Duration.ofSeconds(5);
+        private Duration maxBackoff = Duration.ofMinutes(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLeaseDuration() {
+            return leaseDuration;
+        }
+
+        public void setLeaseDuration(Duration leaseDuration) {
+            this.leaseDuration = leaseDuration;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    public static class Reports {
+        private boolean useRollups = false;
+        private int rebuildChunkDays = 31;
+        private boolean metricsIndexEnabled = true;
+        private long metricsIndexMaximumBytes = 64L * 1024 * 1024;
+        private Duration metricsIndexExpireAfterWrite = Duration.ofMinutes(30);
+        private int metricsIndexHeadroomDays = 31;
+
+        public boolean isUseRollups() {
+            return useRollups;
+        }
+
+        public void setUseRollups(boolean useRollups) {
+            this.useRollups = useRollups;
+        }
+
+        public int getRebuildChunkDays() {
+            return rebuildChunkDays;
+        }
+
+        public void setRebuildChunkDays(int rebuildChunkDays) {
+            this.rebuildChunkDays = rebuildChunkDays;
+        }
+
+        public boolean isMetricsIndexEnabled() {
+            return metricsIndexEnabled;
+        }
+
+        public void setMetricsIndexEnabled(boolean metricsIndexEnabled) {
+            this.metricsIndexEnabled = metricsIndexEnabled;
+        }
+
+        public long getMetricsIndexMaximumBytes() {
+            return metricsIndexMaximumBytes;
+        }
+
+        public void setMetricsIndexMaximumBytes(long metricsIndexMaximumBytes) {
+            this.metricsIndexMaximumBytes = metricsIndexMaximumBytes;
+        }
+
+        public Duration getMetricsIndexExpireAfterWrite() {
+            return metricsIndexExpireAfterWrite;
+        }
+
+        public void setMetricsIndexExpireAfterWrite(Duration metricsIndexExpireAfterWrite) {
+            this.metricsIndexExpireAfterWrite = metricsIndexExpireAfterWrite;
+        }
+
+        public int getMetricsIndexHeadroomDays() {
+            return metricsIndexHeadroomDays;
+        }
+
+        public void setMetricsIndexHeadroomDays(int metricsIndexHeadroomDays) {
+            this.metricsIndexHeadroomDays = metricsIndexHeadroomDays;
+        }
+    }
+}
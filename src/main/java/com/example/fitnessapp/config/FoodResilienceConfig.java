@@ -0,0 +1,108 @@
+package com.example.fitnessapp.config;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FoodResilienceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodResilienceConfig.class);
+
+    public static final String FOOD_MICROSERVICE = "food-microservice";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public RetryRegistry retryRegistry(MeterRegistry meterRegistry) {
+        RetryRegistry registry = RetryRegistry.ofDefaults();
+        TaggedRetryMetrics.ofRetryRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public CircuitBreaker foodCircuitBreaker(
+        CircuitBreakerRegistry registry,
+        FitnessAppProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        FitnessAppProperties.Microservice.Food.Resilience resilience = properties.getMicroservice().getFood().getResilience();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+            .failureRateThreshold(resilience.getFailureRateThreshold())
+            .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(resilience.getSlowCallDurationThreshold())
+            .slidingWindowSize(resilience.getSlidingWindowSize())
+            .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(resilience.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .ignoreException(FoodResilienceConfig::isClientError)
+            .build();
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(FOOD_MICROSERVICE, config);
+        circuitBreaker.getEventPublisher()
+            .onStateTransition(event -> logger.warn("Food microservice circuit breaker: {}", event.getStateTransition()))
+            .onCallNotPermitted(event -> meterRegistry.counter("fitnessapp.food.rejected", "reason", "circuit_open").increment());
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead foodBulkhead(BulkheadRegistry registry, FitnessAppProperties properties, MeterRegistry meterRegistry) {
+        FitnessAppProperties.Microservice.Food.Resilience resilience = properties.getMicroservice().getFood().getResilience();
+        BulkheadConfig config = BulkheadConfig.custom()
+            .maxConcurrentCalls(resilience.getMaxConcurrentCalls())
+            .maxWaitDuration(resilience.getMaxWaitDuration())
+            .build();
+        Bulkhead bulkhead = registry.bulkhead(FOOD_MICROSERVICE, config);
+        bulkhead.getEventPublisher()
+            .onCallRejected(event -> meterRegistry.counter("fitnessapp.food.rejected", "reason", "bulkhead_full").increment());
+        return bulkhead;
+    }
+
+    @Bean
+    public Retry foodRetry(RetryRegistry registry, FitnessAppProperties properties) {
+        FitnessAppProperties.Microservice.Food.Resilience resilience = properties.getMicroservice().getFood().getResilience();
+        RetryConfig config = RetryConfig.custom()
+            .maxAttempts(Math.max(1, resilience.getRetryMaxAttempts()))
+            .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(resilience.getRetryInitialInterval(), 2.0, 0.5))
+            .retryOnException(FoodResilienceConfig::isTransientFailure)
+            .build();
+        return registry.retry(FOOD_MICROSERVICE, config);
+    }
+
+    public static boolean isTransientFailure(Throwable e) {
+        return e instanceof RetryableException || (e instanceof FeignException fe && fe.status() >= 500);
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof FeignException fe && fe.status() >= 400 && fe.status() < 500;
+    }
+}
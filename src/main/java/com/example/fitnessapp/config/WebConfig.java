@@ -1,15 +1,24 @@
 package com.example.fitnessapp.config;
 
+import com.example.fitnessapp.security.CurrentUserIdArgumentResolver;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CurrentUserIdArgumentResolver currentUserIdArgumentResolver;
+
+    public WebConfig(CurrentUserIdArgumentResolver currentUserIdArgumentResolver) {
+        this.currentUserIdArgumentResolver = currentUserIdArgumentResolver;
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         DateTimeFormatterRegistrar registrar = new DateTimeFormatterRegistrar();
@@ -18,5 +27,9 @@ public class WebConfig implements WebMvcConfigurer {
         registrar.setTimeFormatter(DateTimeFormatter.ISO_LOCAL_TIME);
         registrar.registerFormatters(registry);
     }
-}
 
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserIdArgumentResolver);
+    }
+}
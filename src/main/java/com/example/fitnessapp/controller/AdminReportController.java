@@ -1,22 +1,32 @@
 package com.example.fitnessapp.controller;
 
-import com.example.fitnessapp.entities.Progress;
-import com.example.fitnessapp.repository.ProgressRepository;
+import com.example.fitnessapp.dto.RollupRebuildResult;
+import com.example.fitnessapp.service.HistoryExportService;
+import com.example.fitnessapp.service.ProgressService;
+import com.example.fitnessapp.service.UserDailyRollupService;
 import com.example.fitnessapp.service.UserService;
 import com.example.fitnessapp.entities.User;
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Controller
 @RequestMapping("/admin/reports")
@@ -24,11 +34,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class AdminReportController {
 
     private final UserService userService;
-    private final ProgressRepository progressRepository;
+    private final ProgressService progressService;
+    private final UserDailyRollupService rollupService;
+    private final HistoryExportService historyExportService;
 
-    public AdminReportController(UserService userService, ProgressRepository progressRepository) {
+    public AdminReportController(
+        UserService userService,
+        ProgressService progressService,
+        UserDailyRollupService rollupService,
+        HistoryExportService historyExportService
+    ) {
         this.userService = userService;
-        this.progressRepository = progressRepository;
+        this.progressService = progressService;
+        this.rollupService = rollupService;
+        this.historyExportService = historyExportService;
     }
 
     @GetMapping("/users")
@@ -40,12 +59,8 @@ public class AdminReportController {
         Pageable pageable = PageRequest.of(page, size);
         Page<User> users = userService.listUsers(pageable);
         
-        Map<UUID, BigDecimal> lastWeights = new HashMap<>();
-        for (User user : users.getContent()) {
-            progressRepository.findTopByUserOrderByDateDesc(user)
-                .map(Progress::getWeightKg)
-                .ifPresent(weight -> lastWeights.put(user.getId(), weight));
-        }
+        List<UUID> userIds = users.getContent().stream().map(User::getId).toList();
+        Map<UUID, BigDecimal> lastWeights = progressService.findLatestWeights(userIds);
         
         model.addAttribute("users", users);
         model.addAttribute("lastWeights", lastWeights);
@@ -53,5 +68,32 @@ public class AdminReportController {
         model.addAttribute("totalPages", users.getTotalPages());
         return "admin/reports/users";
     }
-}
 
+    @PostMapping("/rollups/rebuild")
+    @ResponseBody
+    public ResponseEntity<RollupRebuildResult> rebuildRollups(
+        @RequestParam String start,
+        @RequestParam(required = false) String end
+    ) {
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = LocalDate.parse(start, DateTimeFormatter.ISO_DATE);
+            endDate = end != null ? LocalDate.parse(end, DateTimeFormatter.ISO_DATE) : LocalDate.now();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rollupService.rebuild(startDate, endDate));
+    }
+
+    @GetMapping("/users/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportUserHistory(
+        @PathVariable UUID userId,
+        @RequestParam(defaultValue = ReportController.DEFAULT_EXPORT_FORMAT) String format
+    ) {
+        return ReportController.exportResponse(historyExportService, userId, HistoryExportService.Format.parse(format));
+    }
+}
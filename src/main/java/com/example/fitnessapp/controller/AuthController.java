@@ -1,10 +1,9 @@
 package com.example.fitnessapp.controller;
 
 import com.example.fitnessapp.entities.User;
-import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.CurrentUserId;
 import com.example.fitnessapp.service.UserService;
 import jakarta.validation.Valid;
-import java.security.Principal;
 import java.util.UUID;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Controller;
@@ -20,11 +19,9 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class AuthController {
 
     private final UserService userService;
-    private final UserRepository userRepository;
 
-    public AuthController(UserService userService, UserRepository userRepository) {
+    public AuthController(UserService userService) {
         this.userService = userService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping("/register")
@@ -64,8 +61,8 @@ public class AuthController {
     }
 
     @GetMapping("/profile")
-    public String showProfile(Principal principal, Model model) {
-        User user = userService.requireUser(getUserId(principal));
+    public String showProfile(@CurrentUserId UUID userId, Model model) {
+        User user = userService.requireUser(userId);
         model.addAttribute("user", user);
         return "auth/profile";
     }
@@ -75,11 +72,10 @@ public class AuthController {
         @RequestParam(required = false) Integer age,
         @RequestParam(required = false) String currentWeightKg,
         @RequestParam(required = false) String goal,
-        Principal principal,
+        @CurrentUserId UUID userId,
         RedirectAttributes redirectAttributes
     ) {
         try {
-            UUID userId = getUserId(principal);
             userService.updateProfileFields(userId, age, currentWeightKg, goal);
             redirectAttributes.addFlashAttribute("successMessage", "Profile updated successfully");
         } catch (Exception e) {
@@ -87,13 +83,5 @@ public class AuthController {
         }
         return "redirect:/profile";
     }
-
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
-    }
 }
 
@@ -1,19 +1,22 @@
 package com.example.fitnessapp.controller;
 
+import com.example.fitnessapp.dto.DailyLogNoteView;
 import com.example.fitnessapp.entities.DailyLog;
 import com.example.fitnessapp.entities.Meal;
 import com.example.fitnessapp.repository.DailyLogRepository;
 import com.example.fitnessapp.repository.MealRepository;
 import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.CurrentUserId;
 import com.example.fitnessapp.service.DailyLogService;
 import com.example.fitnessapp.service.MealService;
 import jakarta.validation.Valid;
-import java.security.Principal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -29,6 +32,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @RequestMapping("/logs")
 public class DailyLogController {
 
+    private static final int NOTES_PAGE_SIZE = 20;
+
     private final DailyLogService dailyLogService;
     private final MealService mealService;
     private final UserRepository userRepository;
@@ -51,39 +56,22 @@ public class DailyLogController {
 
     @GetMapping
     public String listLogs(
-        Principal principal,
+        @CurrentUserId UUID userId,
+        @RequestParam(defaultValue = "0") int page,
         Model model
     ) {
-        UUID userId = getUserId(principal);
         LocalDate today = LocalDate.now();
-        
-        List<DailyLog> allLogs = dailyLogService.getLogsBetween(
+
+        DailyLogNoteView todayLog = dailyLogService.getOrCreateLogView(userId, today);
+        Slice<DailyLogNoteView> logsWithNotes = dailyLogService.getNotesPage(
             userId,
-            LocalDate.MIN,
-            LocalDate.MAX
+            today,
+            PageRequest.of(Math.max(0, page), NOTES_PAGE_SIZE)
         );
 
-        var user = userRepository.findById(userId).orElseThrow();
-        DailyLog todayLog = dailyLogRepository.findByUserAndDate(user, today);
-        if (todayLog == null) {
-            todayLog = dailyLogService.createDailyLog(userId, today, null);
-        }
-        
-        ArrayList<DailyLog> logsWithNotes = new ArrayList<>();
-        for (DailyLog log : allLogs) {
-            if (log.getDate().equals(today)) {
-                continue;
-            }
-            if (log.getNotes() != null && !log.getNotes().trim().isEmpty()) {
-                DailyLog refreshed = dailyLogRepository.findById(log.getId()).orElse(null);
-                if (refreshed != null && refreshed.getNotes() != null && !refreshed.getNotes().trim().isEmpty()) {
-                    logsWithNotes.add(refreshed);
-                }
-            }
-        }
-        logsWithNotes.sort((a, b) -> b.getDate().compareTo(a.getDate()));
-        
-        model.addAttribute("logsWithNotes", logsWithNotes);
+        model.addAttribute("logsWithNotes", logsWithNotes.getContent());
+        model.addAttribute("currentPage", logsWithNotes.getNumber());
+        model.addAttribute("hasNextPage", logsWithNotes.hasNext());
         model.addAttribute("todayLog", todayLog);
         model.addAttribute("today", today);
         return "logs/list";
@@ -92,13 +80,12 @@ public class DailyLogController {
     @GetMapping("/{date}")
     public String viewLogByDate(
         @PathVariable String date,
-        Principal principal,
+        @CurrentUserId UUID userId,
         Model model
     ) {
-        UUID userId = getUserId(principal);
         LocalDate localDate = LocalDate.parse(date, DateTimeFormatter.ISO_DATE);
         LocalDate today = LocalDate.now();
-        var user = userRepository.findById(userId).orElseThrow();
+        var user = userRepository.getReferenceById(userId);
         DailyLog log = dailyLogRepository.findByUserAndDate(user, localDate);
         
         if (log == null) {
@@ -123,12 +110,11 @@ public class DailyLogController {
     public String updateNotes(
         @PathVariable String date,
         @RequestParam String notes,
-        Principal principal,
+        @CurrentUserId UUID userId,
         RedirectAttributes redirectAttributes
     ) {
-        UUID userId = getUserId(principal);
         LocalDate localDate = LocalDate.parse(date, DateTimeFormatter.ISO_DATE);
-        var user = userRepository.findById(userId).orElseThrow();
+        var user = userRepository.getReferenceById(userId);
         DailyLog log = dailyLogRepository.findByUserAndDate(user, localDate);
         
         if (log == null) {
@@ -145,7 +131,7 @@ public class DailyLogController {
     @GetMapping("/new")
     public String showNewLogForm(
         @RequestParam(required = false) String date,
-        Principal principal,
+        @CurrentUserId(required = false) UUID userId,
         Model model
     ) {
         LocalDate logDate;
@@ -160,12 +146,8 @@ public class DailyLogController {
         }
 
         DailyLog log = null;
-        if (principal != null) {
-            UUID userId = getUserId(principal);
-            var user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-                log = dailyLogRepository.findByUserAndDate(user, logDate);
-            }
+        if (userId != null) {
+            log = dailyLogRepository.findByUserAndDate(userRepository.getReferenceById(userId), logDate);
         }
         
         if (log == null) {
@@ -181,7 +163,7 @@ public class DailyLogController {
     public String createLog(
         @Valid @ModelAttribute("log") DailyLog log,
         BindingResult bindingResult,
-        Principal principal,
+        @CurrentUserId UUID userId,
         RedirectAttributes redirectAttributes,
         Model model
     ) {
@@ -190,7 +172,6 @@ public class DailyLogController {
         }
 
         try{
-        UUID userId = getUserId(principal);
         String notes = log.getNotes() != null && !log.getNotes().trim().isEmpty() ? log.getNotes().trim() : null;
         dailyLogService.createDailyLog(userId, log.getDate(), notes);
         redirectAttributes.addFlashAttribute("successMessage", "Daily log created successfully");
@@ -223,13 +204,5 @@ public class DailyLogController {
         redirectAttributes.addFlashAttribute("successMessage", "Meal added successfully");
         return "redirect:/logs/" + dailyLogRepository.findById(id).orElseThrow().getDate();
     }
-
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
-    }
 }
 
@@ -1,15 +1,8 @@
 package com.example.fitnessapp.controller;
 
-import com.example.fitnessapp.entities.DailyLog;
-import com.example.fitnessapp.entities.Workout;
-import com.example.fitnessapp.repository.DailyLogRepository;
-import com.example.fitnessapp.repository.UserRepository;
-import com.example.fitnessapp.repository.WorkoutRepository;
-import com.example.fitnessapp.service.DailyLogService;
-import java.security.Principal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
+import com.example.fitnessapp.dto.DashboardView;
+import com.example.fitnessapp.security.CurrentUserId;
+import com.example.fitnessapp.service.DashboardService;
 import java.util.UUID;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -20,59 +13,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @RequestMapping("/dashboard")
 public class DashboardController {
 
-    private final DailyLogService dailyLogService;
-    private final UserRepository userRepository;
-    private final DailyLogRepository dailyLogRepository;
-    private final WorkoutRepository workoutRepository;
+    private final DashboardService dashboardService;
 
-    public DashboardController(
-        DailyLogService dailyLogService,
-        UserRepository userRepository,
-        DailyLogRepository dailyLogRepository,
-        WorkoutRepository workoutRepository
-    ) {
-        this.dailyLogService = dailyLogService;
-        this.userRepository = userRepository;
-        this.dailyLogRepository = dailyLogRepository;
-        this.workoutRepository = workoutRepository;
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
     }
 
     @GetMapping
-    public String showDashboard(Principal principal, Model model) {
-        UUID userId = getUserId(principal);
-        LocalDate today = LocalDate.now();
+    public String showDashboard(@CurrentUserId UUID userId, Model model) {
+        DashboardView dashboard = dashboardService.getDashboard(userId);
         
-        var user = userRepository.findById(userId).orElseThrow();
-        DailyLog todayLog = dailyLogRepository.findByUserAndDate(user, today);
-        
-        if (todayLog != null) {
-            dailyLogService.computeDailyTotals(userId, today);
-            todayLog = dailyLogRepository.findByUserAndDate(user, today);
-        }
-        
-        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        LocalDateTime now = LocalDateTime.now();
-        List<Workout> recentWorkouts = workoutRepository.findByUserAndDateTimeBetween(
-            user, weekAgo, now
-        );
-        recentWorkouts = recentWorkouts.stream()
-            .sorted((a, b) -> b.getDateTime().compareTo(a.getDateTime()))
-            .limit(5)
-            .toList();
-        
-        model.addAttribute("todayLog", todayLog);
-        model.addAttribute("recentWorkouts", recentWorkouts);
-        model.addAttribute("today", today);
+        model.addAttribute("todayLog", dashboard.todayLog());
+        model.addAttribute("recentWorkouts", dashboard.recentWorkouts());
+        model.addAttribute("today", dashboard.date());
         
         return "dashboard/index";
     }
-
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
-    }
 }
-
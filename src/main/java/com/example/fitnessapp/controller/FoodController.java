@@ -1,14 +1,22 @@
 package com.example.fitnessapp.controller;
 
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.BatchFoodCalculationRequest;
+import com.example.fitnessapp.dto.BatchFoodCalculationResponse;
 import com.example.fitnessapp.dto.FoodCalculationRequest;
 import com.example.fitnessapp.dto.FoodCalculationResponse;
 import com.example.fitnessapp.dto.FoodDto;
 import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import com.example.fitnessapp.service.FoodCatalogReplica;
+import com.example.fitnessapp.service.FoodSearchIndex;
 import com.example.fitnessapp.service.FoodService;
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,49 +30,66 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/foods")
 public class FoodController {
 
+    private static final Logger logger = LoggerFactory.getLogger(FoodController.class);
+
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int LIVE_CATALOG_LIMIT = 100;
+    private static final String CATALOG_SYNCED_AT_HEADER = "X-Catalog-Synced-At";
+    private static final String CATALOG_AGE_HEADER = "X-Catalog-Age-Seconds";
+
     private final FoodService foodService;
+    private final FoodCatalogReplica catalogReplica;
+    private final FitnessAppProperties properties;
 
-    public FoodController(FoodService foodService) {
+    public FoodController(FoodService foodService, FoodCatalogReplica catalogReplica, FitnessAppProperties properties) {
         this.foodService = foodService;
+        this.catalogReplica = catalogReplica;
+        this.properties = properties;
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<FoodSearchResponse.FoodSearchItem>> searchFoods(
-        @RequestParam("name") String name
+        @RequestParam("name") String name,
+        @RequestParam(value = "limit", defaultValue = "20") int limit
     ) {
         if (name == null || name.trim().isEmpty()) {
             return ResponseEntity.ok(List.of());
         }
-        
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
+        Optional<List<FoodSearchResponse.FoodSearchItem>> replicated = catalogReplica.search(name, cappedLimit);
+        if (replicated.isPresent()) {
+            return catalogResponse(replicated.get());
+        }
         List<FoodSearchResponse.FoodSearchItem> foods = foodService.searchFoods(name.trim());
-        return ResponseEntity.ok(foods);
+        return ResponseEntity.ok(FoodSearchIndex.rank(foods, name, cappedLimit));
     }
 
     @GetMapping("/all")
     public ResponseEntity<List<FoodSearchResponse.FoodSearchItem>> getAllFoods() {
-        List<FoodSearchResponse.FoodSearchItem> allFoods = new ArrayList<>();
-        Set<String> seenIds = new HashSet<>();
-        
-        String[] commonLetters = {"a", "e", "i", "o", "u", "b", "c", "d", "f", "g", "h", "m", "p", "r", "s", "t"};
-        for (String letter : commonLetters) {
-            try {
-                List<FoodSearchResponse.FoodSearchItem> foods = foodService.searchFoods(letter);
-                for (FoodSearchResponse.FoodSearchItem food : foods) {
-                    if (food.id() != null && !seenIds.contains(food.id())) {
-                        allFoods.add(food);
-                        seenIds.add(food.id());
-                    }
-                }
-                if (allFoods.size() >= 100) {
-                    break;
-                }
-            } catch (Exception e) {
-            }
+        Optional<List<FoodSearchResponse.FoodSearchItem>> fresh = catalogReplica.allFoods();
+        if (fresh.isPresent()) {
+            return catalogResponse(fresh.get());
         }
-        
-        allFoods.sort((a, b) -> a.name().compareToIgnoreCase(b.name()));
-        
-        return ResponseEntity.ok(allFoods);
+        catalogReplica.requestSync();
+        return catalogReplica.lastFoods()
+            .map(this::staleCatalogResponse)
+            .orElseGet(() -> ResponseEntity.ok(foodService.listFoods(LIVE_CATALOG_LIMIT)));
+    }
+
+    private ResponseEntity<List<FoodSearchResponse.FoodSearchItem>> catalogResponse(List<FoodSearchResponse.FoodSearchItem> foods) {
+        return ResponseEntity.ok()
+            .header(CATALOG_SYNCED_AT_HEADER, String.valueOf(catalogReplica.syncedAt()))
+            .body(foods);
+    }
+
+    private ResponseEntity<List<FoodSearchResponse.FoodSearchItem>> staleCatalogResponse(List<FoodSearchResponse.FoodSearchItem> foods) {
+        Instant syncedAt = catalogReplica.lastSyncedAt();
+        logger.debug("Serving a stale food catalog synced at {}", syncedAt);
+        return ResponseEntity.ok()
+            .header(CATALOG_SYNCED_AT_HEADER, String.valueOf(syncedAt))
+            .header(CATALOG_AGE_HEADER, String.valueOf(Duration.between(syncedAt, Instant.now()).toSeconds()))
+            .body(foods);
     }
 
     @GetMapping("/{id}")
@@ -72,6 +97,8 @@ public class FoodController {
         try {
             FoodDto food = foodService.getFoodById(id);
             return ResponseEntity.ok(food);
+        } catch (FoodServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
@@ -103,9 +130,21 @@ public class FoodController {
             }
             
             return ResponseEntity.ok(response);
+        } catch (FoodServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
-}
 
+    @PostMapping("/calc/batch")
+    public ResponseEntity<BatchFoodCalculationResponse> calculateCaloriesBatch(@RequestBody BatchFoodCalculationRequest request) {
+        if (request == null || request.items() == null || request.items().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (request.items().size() > properties.getMicroservice().getFood().getBatchMaxItems()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(foodService.calculateCaloriesBatch(request.items()));
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.fitnessapp.controller;
 
+import com.example.fitnessapp.dto.MealHistoryCursor;
+import com.example.fitnessapp.dto.MealHistoryItem;
+import com.example.fitnessapp.dto.MealHistoryPage;
 import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.security.CurrentUserId;
 import com.example.fitnessapp.service.MealService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -17,10 +26,41 @@ import java.util.UUID;
 @RequestMapping("/meals")
 public class MealController {
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final MealService mealService;
+    private final ObjectMapper objectMapper;
 
-    public MealController(MealService mealService) {
+    public MealController(MealService mealService, ObjectMapper objectMapper) {
         this.mealService = mealService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<MealHistoryPage> getMealHistory(
+        @CurrentUserId UUID userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(mealService.getMealHistory(userId, cursor, limit));
+    }
+
+    @GetMapping(value = "/history/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamMealHistory(@CurrentUserId UUID userId) {
+        StreamingResponseBody body = out -> {
+            MealHistoryCursor cursor = null;
+            do {
+                MealHistoryPage page = mealService.getMealHistory(userId, cursor, STREAM_CHUNK_SIZE);
+                for (MealHistoryItem item : page.items()) {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.nextCursor() != null ? MealHistoryCursor.decode(page.nextCursor()) : null;
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @PutMapping("/{id}")
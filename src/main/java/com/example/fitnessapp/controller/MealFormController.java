@@ -1,17 +1,16 @@
 package com.example.fitnessapp.controller;
 
+import com.example.fitnessapp.dto.MealHistoryPage;
 import com.example.fitnessapp.entities.DailyLog;
 import com.example.fitnessapp.entities.Meal;
 import com.example.fitnessapp.repository.DailyLogRepository;
-import com.example.fitnessapp.repository.MealRepository;
 import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.CurrentUserId;
 import com.example.fitnessapp.service.DailyLogService;
 import com.example.fitnessapp.service.MealService;
 import jakarta.validation.Valid;
-import java.security.Principal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.UUID;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -27,45 +26,44 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @RequestMapping("/meals")
 public class MealFormController {
 
+    private static final int HISTORY_PAGE_SIZE = 50;
+
     private final MealService mealService;
     private final DailyLogRepository dailyLogRepository;
     private final UserRepository userRepository;
     private final DailyLogService dailyLogService;
-    private final MealRepository mealRepository;
 
     public MealFormController(
         MealService mealService,
         DailyLogRepository dailyLogRepository,
         UserRepository userRepository,
-        DailyLogService dailyLogService,
-        MealRepository mealRepository
+        DailyLogService dailyLogService
     ) {
         this.mealService = mealService;
         this.dailyLogRepository = dailyLogRepository;
         this.userRepository = userRepository;
         this.dailyLogService = dailyLogService;
-        this.mealRepository = mealRepository;
     }
 
     @GetMapping
-    public String listMeals(Principal principal, Model model) {
-        UUID userId = getUserId(principal);
-        List<Meal> meals = mealRepository.findByUserId(userId);
-        model.addAttribute("meals", meals);
+    public String listMeals(@CurrentUserId UUID userId, Model model) {
+        MealHistoryPage page = mealService.getMealHistory(userId, (String) null, HISTORY_PAGE_SIZE);
+        model.addAttribute("meals", page.items());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("pageSize", HISTORY_PAGE_SIZE);
         return "meals/list";
     }
 
     @GetMapping("/new")
     public String showAddMealForm(
-        Principal principal,
+        @CurrentUserId UUID userId,
         @RequestParam(required = false) String date,
         Model model
     ) {
-        UUID userId = getUserId(principal);
         LocalDate mealDate = date != null ? LocalDate.parse(date) : LocalDate.now();
         
         DailyLog log = dailyLogRepository.findByUserAndDate(
-            userRepository.findById(userId).orElseThrow(), 
+            userRepository.getReferenceById(userId),
             mealDate
         );
         if (log == null) {
@@ -103,13 +101,5 @@ public class MealFormController {
             return "redirect:/meals/new?date=" + log.getDate().format(DateTimeFormatter.ISO_DATE);
         }
     }
-
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
-    }
 }
 
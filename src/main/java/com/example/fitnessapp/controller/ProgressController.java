@@ -1,11 +1,10 @@
 package com.example.fitnessapp.controller;
 
 import com.example.fitnessapp.entities.Progress;
-import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.CurrentUserId;
 import com.example.fitnessapp.service.ProgressService;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
-import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -23,21 +22,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class ProgressController {
 
     private final ProgressService progressService;
-    private final UserRepository userRepository;
 
-    public ProgressController(ProgressService progressService, UserRepository userRepository) {
+    public ProgressController(ProgressService progressService) {
         this.progressService = progressService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping
     public String showProgressChart(
-        Principal principal,
+        @CurrentUserId UUID userId,
         @RequestParam(required = false) LocalDate start,
         @RequestParam(required = false) LocalDate end,
         Model model
     ) {
-        UUID userId = getUserId(principal);
         List<Progress> progressHistory = progressService.getProgressHistory(userId, start, end);
         var trend = progressService.computeTrend(userId, start, end);
         
@@ -50,10 +46,9 @@ public class ProgressController {
 
     @PostMapping
     public ResponseEntity<Progress> addProgress(
-        Principal principal,
+        @CurrentUserId UUID userId,
         @Valid @RequestBody ProgressRequest request
     ) {
-        UUID userId = getUserId(principal);
         Progress progress = progressService.addProgress(
             userId,
             request.date() != null ? request.date() : LocalDate.now(),
@@ -63,14 +58,6 @@ public class ProgressController {
         return ResponseEntity.ok(progress);
     }
 
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
-    }
-
     public record ProgressRequest(LocalDate date, BigDecimal weightKg, String notes) {}
 }
 
@@ -1,38 +1,41 @@
 package com.example.fitnessapp.controller;
 
-import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.CurrentUserId;
+import com.example.fitnessapp.service.HistoryExportService;
 import com.example.fitnessapp.service.ReportService;
-import java.security.Principal;
 import java.time.LocalDate;
 import java.util.UUID;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Controller
 @RequestMapping("/reports")
 public class ReportController {
 
+    static final String DEFAULT_EXPORT_FORMAT = "csv";
+
     private final ReportService reportService;
-    private final UserRepository userRepository;
+    private final HistoryExportService historyExportService;
 
-    public ReportController(
-        ReportService reportService,
-        UserRepository userRepository
-    ) {
+    public ReportController(ReportService reportService, HistoryExportService historyExportService) {
         this.reportService = reportService;
-        this.userRepository = userRepository;
+        this.historyExportService = historyExportService;
     }
 
     @GetMapping("/weekly")
     public String showWeeklyReport(
-        Principal principal,
+        @CurrentUserId UUID userId,
         @RequestParam(required = false) LocalDate weekStart,
         Model model
     ) {
-        UUID userId = getUserId(principal);
         if (weekStart == null) {
             weekStart = LocalDate.now().minusDays(LocalDate.now().getDayOfWeek().getValue() - 1);
         }
@@ -42,12 +45,25 @@ public class ReportController {
         return "reports/weekly";
     }
 
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+        @CurrentUserId UUID userId,
+        @RequestParam(defaultValue = DEFAULT_EXPORT_FORMAT) String format
+    ) {
+        return exportResponse(historyExportService, userId, HistoryExportService.Format.parse(format));
     }
-}
 
+    static ResponseEntity<StreamingResponseBody> exportResponse(
+        HistoryExportService historyExportService,
+        UUID userId,
+        HistoryExportService.Format format
+    ) {
+        historyExportService.requireUser(userId);
+        String filename = "fitness-history-" + LocalDate.now() + "." + format.extension();
+        StreamingResponseBody body = out -> historyExportService.export(userId, format, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
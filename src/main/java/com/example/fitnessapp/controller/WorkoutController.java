@@ -1,10 +1,9 @@
 package com.example.fitnessapp.controller;
 
 import com.example.fitnessapp.entities.Workout;
-import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.CurrentUserId;
 import com.example.fitnessapp.service.WorkoutService;
 import jakarta.validation.Valid;
-import java.security.Principal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -30,16 +29,13 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class WorkoutController {
 
     private final WorkoutService workoutService;
-    private final UserRepository userRepository;
 
-    public WorkoutController(WorkoutService workoutService, UserRepository userRepository) {
+    public WorkoutController(WorkoutService workoutService) {
         this.workoutService = workoutService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping
-    public String listWorkouts(Principal principal, Model model) {
-        UUID userId = getUserId(principal);
+    public String listWorkouts(@CurrentUserId UUID userId, Model model) {
         List<Workout> workouts = workoutService.findWorkouts(userId, null, null);
         model.addAttribute("workouts", workouts);
         return "workouts/list";
@@ -69,7 +65,7 @@ public class WorkoutController {
     public String createWorkout(
         @Valid @ModelAttribute("workout") Workout workout,
         BindingResult bindingResult,
-        Principal principal,
+        @CurrentUserId UUID userId,
         @RequestParam(defaultValue = "true") boolean autoEstimateCalories,
         RedirectAttributes redirectAttributes
     ) {
@@ -78,7 +74,6 @@ public class WorkoutController {
         }
 
         try{
-            UUID userId = getUserId(principal);
             workoutService.addWorkout(userId, workout, autoEstimateCalories);
             redirectAttributes.addFlashAttribute("successMessage", "Workout added successfully");
             return "redirect:/workouts";
@@ -104,13 +99,5 @@ public class WorkoutController {
         workoutService.deleteWorkout(id);
         return ResponseEntity.ok().build();
     }
-
-    private UUID getUserId(Principal principal) {
-        String username = principal.getName();
-        return userRepository
-            .findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"))
-            .getId();
-    }
 }
 
@@ -0,0 +1,7 @@
+package com.example.fitnessapp.dto;
+
+import java.util.List;
+
+public record BatchFoodCalculationRequest(
+    List<FoodCalculationRequest> items
+) {}
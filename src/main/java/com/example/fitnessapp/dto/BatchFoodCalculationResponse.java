@@ -0,0 +1,26 @@
+package com.example.fitnessapp.dto;
+
+import java.util.List;
+
+public record BatchFoodCalculationResponse(
+    List<Item> items,
+    Totals totals
+) {
+    public record Item(
+        int index,
+        String foodName,
+        String servingSize,
+        Double portions,
+        FoodCalculationResponse result,
+        String error
+    ) {}
+
+    public record Totals(
+        int calories,
+        float protein,
+        float carbs,
+        float fats,
+        int succeeded,
+        int failed
+    ) {}
+}
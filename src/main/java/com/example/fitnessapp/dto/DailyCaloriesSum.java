@@ -0,0 +1,6 @@
+package com.example.fitnessapp.dto;
+
+public record DailyCaloriesSum(
+    Long totalCaloriesIn,
+    Long totalCaloriesOut
+) {}
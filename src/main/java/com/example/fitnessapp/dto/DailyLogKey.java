@@ -0,0 +1,9 @@
+package com.example.fitnessapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record DailyLogKey(
+    UUID id,
+    LocalDate date
+) {}
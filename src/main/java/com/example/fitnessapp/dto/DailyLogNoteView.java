@@ -0,0 +1,10 @@
+package com.example.fitnessapp.dto;
+
+import java.time.LocalDate;
+
+public record DailyLogNoteView(
+    LocalDate date,
+    String notes,
+    Integer totalCaloriesIn,
+    Integer totalCaloriesOut
+) {}
@@ -0,0 +1,12 @@
+package com.example.fitnessapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record DailyTotalsSnapshot(
+    UUID dailyLogId,
+    UUID userId,
+    LocalDate date,
+    Integer totalCaloriesIn,
+    Integer totalCaloriesOut
+) {}
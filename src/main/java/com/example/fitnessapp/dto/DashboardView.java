@@ -0,0 +1,23 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.WorkoutType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DashboardView(
+    LocalDate date,
+    TodayTotals todayLog,
+    List<RecentWorkout> recentWorkouts
+) {
+    public record TodayTotals(
+        Integer totalCaloriesIn,
+        Integer totalCaloriesOut
+    ) {}
+
+    public record RecentWorkout(
+        WorkoutType type,
+        LocalDateTime dateTime,
+        Integer caloriesBurned
+    ) {}
+}
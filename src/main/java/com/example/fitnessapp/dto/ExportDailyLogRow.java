@@ -0,0 +1,20 @@
+package com.example.fitnessapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.time.LocalDate;
+
+@JsonPropertyOrder({"record"})
+public record ExportDailyLogRow(
+    LocalDate date,
+    Integer caloriesIn,
+    Integer caloriesOut,
+    String notes
+) implements HistoryExportRow {
+
+    @Override
+    @JsonProperty("record")
+    public String recordType() {
+        return "daily_log";
+    }
+}
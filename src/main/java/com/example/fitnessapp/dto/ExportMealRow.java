@@ -0,0 +1,25 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.MealType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.time.LocalDate;
+
+@JsonPropertyOrder({"record"})
+public record ExportMealRow(
+    LocalDate date,
+    MealType mealType,
+    String foodName,
+    String servingSize,
+    Integer calories,
+    Float protein,
+    Float carbs,
+    Float fats
+) implements HistoryExportRow {
+
+    @Override
+    @JsonProperty("record")
+    public String recordType() {
+        return "meal";
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.fitnessapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@JsonPropertyOrder({"record"})
+public record ExportProgressRow(
+    LocalDate date,
+    BigDecimal weightKg,
+    String notes
+) implements HistoryExportRow {
+
+    @Override
+    @JsonProperty("record")
+    public String recordType() {
+        return "progress";
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.WorkoutType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.time.LocalDateTime;
+
+@JsonPropertyOrder({"record"})
+public record ExportWorkoutRow(
+    LocalDateTime dateTime,
+    WorkoutType type,
+    Integer durationMinutes,
+    Integer caloriesBurned,
+    String notes
+) implements HistoryExportRow {
+
+    @Override
+    @JsonProperty("record")
+    public String recordType() {
+        return "workout";
+    }
+}
@@ -10,6 +10,12 @@ public record FoodSearchResponse(
         String name,
         String servingSize,
         Integer calories
-    ) {}
+    ) {
+        public static FoodSearchItem from(MicroserviceFoodPageResponse.MicroserviceFoodItem item) {
+            String servingSize = item.servingSizeGrams() != null
+                ? item.servingSizeGrams() + "g"
+                : "100g";
+            return new FoodSearchItem(item.id(), item.name(), servingSize, item.caloriesPerServing());
+        }
+    }
 }
-
@@ -0,0 +1,8 @@
+package com.example.fitnessapp.dto;
+
+import java.util.List;
+
+public record FoodSearchResult(
+    List<FoodSearchResponse.FoodSearchItem> foods,
+    boolean complete
+) {}
@@ -0,0 +1,9 @@
+package com.example.fitnessapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public interface HistoryExportRow {
+
+    @JsonProperty("record")
+    String recordType();
+}
@@ -0,0 +1,9 @@
+package com.example.fitnessapp.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record LatestWeight(
+    UUID userId,
+    BigDecimal weightKg
+) {}
@@ -0,0 +1,8 @@
+package com.example.fitnessapp.dto;
+
+import java.util.UUID;
+
+public record MealCaloriesSum(
+    UUID dailyLogId,
+    Long calories
+) {}
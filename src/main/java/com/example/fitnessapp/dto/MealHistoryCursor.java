@@ -0,0 +1,37 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.MealType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+public record MealHistoryCursor(
+    LocalDate date,
+    MealType mealType,
+    UUID id
+) {
+
+    public static MealHistoryCursor of(MealHistoryItem item) {
+        return new MealHistoryCursor(item.date(), item.mealType(), item.id());
+    }
+
+    public static MealHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new MealHistoryCursor(LocalDate.parse(parts[0]), MealType.valueOf(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid meal history cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = date + "|" + mealType.name() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
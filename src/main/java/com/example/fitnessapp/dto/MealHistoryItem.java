@@ -0,0 +1,17 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.MealType;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record MealHistoryItem(
+    UUID id,
+    LocalDate date,
+    MealType mealType,
+    String foodName,
+    String servingSize,
+    Integer calories,
+    Float protein,
+    Float carbs,
+    Float fats
+) {}
@@ -0,0 +1,43 @@
+package com.example.fitnessapp.dto;
+
+import java.util.UUID;
+
+public record NutrientVector(
+    UUID foodItemId,
+    String name,
+    double caloriesPerGram,
+    double proteinPerGram,
+    double carbsPerGram,
+    double fatPerGram,
+    double fiberPerGram,
+    int servingSizeGrams
+) {
+
+    public static NutrientVector of(MicroserviceFoodPageResponse.MicroserviceFoodItem item) {
+        if (item == null || item.id() == null || item.name() == null || item.caloriesPerServing() == null
+            || item.servingSizeGrams() == null || item.servingSizeGrams() <= 0) {
+            return null;
+        }
+        UUID foodItemId;
+        try {
+            foodItemId = UUID.fromString(item.id());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        double grams = item.servingSizeGrams();
+        return new NutrientVector(
+            foodItemId,
+            item.name(),
+            item.caloriesPerServing() / grams,
+            perGram(item.proteinPerServing(), grams),
+            perGram(item.carbsPerServing(), grams),
+            perGram(item.fatPerServing(), grams),
+            perGram(item.fiberPerServing(), grams),
+            item.servingSizeGrams()
+        );
+    }
+
+    private static double perGram(Double perServing, double grams) {
+        return perServing != null ? perServing / grams : 0;
+    }
+}
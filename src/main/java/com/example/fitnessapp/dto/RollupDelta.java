@@ -0,0 +1,78 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.Workout;
+import com.example.fitnessapp.entities.WorkoutType;
+
+public record RollupDelta(
+    int caloriesIn,
+    int caloriesOut,
+    double protein,
+    double carbs,
+    double fat,
+    int workoutCount,
+    int cardioMinutes,
+    int strengthMinutes,
+    int yogaMinutes,
+    int otherMinutes
+) {
+
+    public static final RollupDelta ZERO = new RollupDelta(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    public static RollupDelta ofMeal(Meal meal) {
+        return new RollupDelta(
+            meal.getCalories() != null ? meal.getCalories() : 0,
+            0,
+            meal.getProtein() != null ? meal.getProtein() : 0,
+            meal.getCarbs() != null ? meal.getCarbs() : 0,
+            meal.getFats() != null ? meal.getFats() : 0,
+            0, 0, 0, 0, 0
+        );
+    }
+
+    public static RollupDelta ofWorkout(Workout workout) {
+        int minutes = workout.getDurationMinutes() != null ? workout.getDurationMinutes() : 0;
+        WorkoutType type = workout.getType() != null ? workout.getType() : WorkoutType.OTHER;
+        return new RollupDelta(
+            0,
+            workout.getCaloriesBurned() != null ? workout.getCaloriesBurned() : 0,
+            0, 0, 0,
+            1,
+            type == WorkoutType.CARDIO ? minutes : 0,
+            type == WorkoutType.STRENGTH ? minutes : 0,
+            type == WorkoutType.YOGA ? minutes : 0,
+            type == WorkoutType.OTHER ? minutes : 0
+        );
+    }
+
+    public RollupDelta plus(RollupDelta other) {
+        return new RollupDelta(
+            caloriesIn + other.caloriesIn,
+            caloriesOut + other.caloriesOut,
+            protein + other.protein,
+            carbs + other.carbs,
+            fat + other.fat,
+            workoutCount + other.workoutCount,
+            cardioMinutes + other.cardioMinutes,
+            strengthMinutes + other.strengthMinutes,
+            yogaMinutes + other.yogaMinutes,
+            otherMinutes + other.otherMinutes
+        );
+    }
+
+    public RollupDelta minus(RollupDelta other) {
+        return plus(other.negate());
+    }
+
+    public RollupDelta negate() {
+        return new RollupDelta(
+            -caloriesIn, -caloriesOut, -protein, -carbs, -fat,
+            -workoutCount, -cardioMinutes, -strengthMinutes, -yogaMinutes, -otherMinutes
+        );
+    }
+
+    public boolean isZero() {
+        return caloriesIn == 0 && caloriesOut == 0 && protein == 0 && carbs == 0 && fat == 0
+            && workoutCount == 0 && cardioMinutes == 0 && strengthMinutes == 0 && yogaMinutes == 0 && otherMinutes == 0;
+    }
+}
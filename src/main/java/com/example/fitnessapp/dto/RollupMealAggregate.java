@@ -0,0 +1,13 @@
+package com.example.fitnessapp.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record RollupMealAggregate(
+    UUID userId,
+    LocalDate date,
+    Long calories,
+    Double protein,
+    Double carbs,
+    Double fat
+) {}
@@ -0,0 +1,11 @@
+package com.example.fitnessapp.dto;
+
+import java.time.LocalDate;
+
+public record RollupRebuildResult(
+    LocalDate start,
+    LocalDate end,
+    int chunks,
+    int rows,
+    long elapsedMillis
+) {}
@@ -0,0 +1,7 @@
+package com.example.fitnessapp.dto;
+
+public record RollupTotals(
+    Long caloriesIn,
+    Long caloriesOut,
+    Long workoutCount
+) {}
@@ -0,0 +1,11 @@
+package com.example.fitnessapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record RollupWeight(
+    UUID userId,
+    LocalDate date,
+    BigDecimal weightKg
+) {}
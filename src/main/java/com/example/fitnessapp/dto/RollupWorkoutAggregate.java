@@ -0,0 +1,14 @@
+package com.example.fitnessapp.dto;
+
+import com.example.fitnessapp.entities.WorkoutType;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record RollupWorkoutAggregate(
+    UUID userId,
+    LocalDate date,
+    WorkoutType type,
+    Long workouts,
+    Long minutes,
+    Long calories
+) {}
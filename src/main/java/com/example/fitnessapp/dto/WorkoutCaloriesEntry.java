@@ -0,0 +1,10 @@
+package com.example.fitnessapp.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WorkoutCaloriesEntry(
+    UUID userId,
+    LocalDateTime dateTime,
+    Integer caloriesBurned
+) {}
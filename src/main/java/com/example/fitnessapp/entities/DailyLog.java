@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -17,12 +18,17 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(
     name = "daily_logs",
     uniqueConstraints = {
         @UniqueConstraint(name = "uk_daily_logs_user_date", columnNames = {"user_id", "date"})
+    },
+    indexes = {
+        @Index(name = "idx_daily_logs_date", columnList = "date")
     }
 )
 public class DailyLog {
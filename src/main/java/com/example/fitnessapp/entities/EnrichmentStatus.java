@@ -0,0 +1,8 @@
+package com.example.fitnessapp.entities;
+
+public enum EnrichmentStatus {
+    NOT_REQUIRED,
+    PENDING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,59 @@
+package com.example.fitnessapp.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity
+@Table(name = "latest_progress")
+public class LatestProgress {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "progress_id", nullable = false)
+    private UUID progressId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(precision = 6, scale = 2)
+    private BigDecimal weightKg;
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getProgressId() {
+        return progressId;
+    }
+
+    public void setProgressId(UUID progressId) {
+        this.progressId = progressId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getWeightKg() {
+        return weightKg;
+    }
+
+    public void setWeightKg(BigDecimal weightKg) {
+        this.weightKg = weightKg;
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +17,12 @@ import jakarta.validation.constraints.NotNull;
 import java.util.UUID;
 
 @Entity
-@Table(name = "meals")
+@Table(
+    name = "meals",
+    indexes = {
+        @Index(name = "idx_meals_daily_log_calories", columnList = "daily_log_id, calories")
+    }
+)
 public class Meal {
 
     @Id
@@ -48,6 +54,10 @@ public class Meal {
 
     private Float fats;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "enrichment_status", nullable = false, length = 20)
+    private EnrichmentStatus enrichmentStatus = EnrichmentStatus.NOT_REQUIRED;
+
     public UUID getId() {
         return id;
     }
@@ -119,6 +129,12 @@ public class Meal {
     public void setFats(Float fats) {
         this.fats = fats;
     }
-}
 
+    public EnrichmentStatus getEnrichmentStatus() {
+        return enrichmentStatus;
+    }
 
+    public void setEnrichmentStatus(EnrichmentStatus enrichmentStatus) {
+        this.enrichmentStatus = enrichmentStatus;
+    }
+}
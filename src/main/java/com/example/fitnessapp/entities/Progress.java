@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -15,7 +16,12 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "progress_entries")
+@Table(
+    name = "progress_entries",
+    indexes = {
+        @Index(name = "idx_progress_entries_user_date", columnList = "user_id, date, weight_kg")
+    }
+)
 public class Progress {
 
     @Id
@@ -0,0 +1,163 @@
+package com.example.fitnessapp.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.math.BigDecimal;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "user_daily_rollup")
+public class UserDailyRollup implements Persistable<UserDailyRollupId> {
+
+    @EmbeddedId
+    private UserDailyRollupId id;
+
+    @Column(name = "calories_in", nullable = false)
+    private int caloriesIn;
+
+    @Column(name = "calories_out", nullable = false)
+    private int caloriesOut;
+
+    @Column(name = "protein", nullable = false)
+    private double protein;
+
+    @Column(name = "carbs", nullable = false)
+    private double carbs;
+
+    @Column(name = "fat", nullable = false)
+    private double fat;
+
+    @Column(name = "workout_count", nullable = false)
+    private int workoutCount;
+
+    @Column(name = "cardio_minutes", nullable = false)
+    private int cardioMinutes;
+
+    @Column(name = "strength_minutes", nullable = false)
+    private int strengthMinutes;
+
+    @Column(name = "yoga_minutes", nullable = false)
+    private int yogaMinutes;
+
+    @Column(name = "other_minutes", nullable = false)
+    private int otherMinutes;
+
+    @Column(name = "last_weight_kg", precision = 6, scale = 2)
+    private BigDecimal lastWeightKg;
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public UserDailyRollupId getId() {
+        return id;
+    }
+
+    public void setId(UserDailyRollupId id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public int getCaloriesIn() {
+        return caloriesIn;
+    }
+
+    public void setCaloriesIn(int caloriesIn) {
+        this.caloriesIn = caloriesIn;
+    }
+
+    public int getCaloriesOut() {
+        return caloriesOut;
+    }
+
+    public void setCaloriesOut(int caloriesOut) {
+        this.caloriesOut = caloriesOut;
+    }
+
+    public double getProtein() {
+        return protein;
+    }
+
+    public void setProtein(double protein) {
+        this.protein = protein;
+    }
+
+    public double getCarbs() {
+        return carbs;
+    }
+
+    public void setCarbs(double carbs) {
+        this.carbs = carbs;
+    }
+
+    public double getFat() {
+        return fat;
+    }
+
+    public void setFat(double fat) {
+        this.fat = fat;
+    }
+
+    public int getWorkoutCount() {
+        return workoutCount;
+    }
+
+    public void setWorkoutCount(int workoutCount) {
+        this.workoutCount = workoutCount;
+    }
+
+    public int getCardioMinutes() {
+        return cardioMinutes;
+    }
+
+    public void setCardioMinutes(int cardioMinutes) {
+        this.cardioMinutes = cardioMinutes;
+    }
+
+    public int getStrengthMinutes() {
+        return strengthMinutes;
+    }
+
+    public void setStrengthMinutes(int strengthMinutes) {
+        this.strengthMinutes = strengthMinutes;
+    }
+
+    public int getYogaMinutes() {
+        return yogaMinutes;
+    }
+
+    public void setYogaMinutes(int yogaMinutes) {
+        this.yogaMinutes = yogaMinutes;
+    }
+
+    public int getOtherMinutes() {
+        return otherMinutes;
+    }
+
+    public void setOtherMinutes(int otherMinutes) {
+        this.otherMinutes = otherMinutes;
+    }
+
+    public BigDecimal getLastWeightKg() {
+        return lastWeightKg;
+    }
+
+    public void setLastWeightKg(BigDecimal lastWeightKg) {
+        this.lastWeightKg = lastWeightKg;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.fitnessapp.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+@Embeddable
+public class UserDailyRollupId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    public UserDailyRollupId() {
+    }
+
+    public UserDailyRollupId(UUID userId, LocalDate date) {
+        this.userId = userId;
+        this.date = date;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof UserDailyRollupId that)) {
+            return false;
+        }
+        return Objects.equals(userId, that.userId) && Objects.equals(date, that.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, date);
+    }
+}
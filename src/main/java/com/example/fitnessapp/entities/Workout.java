@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +17,12 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "workouts")
+@Table(
+    name = "workouts",
+    indexes = {
+        @Index(name = "idx_workouts_user_date_time", columnList = "user_id, date_time, calories_burned")
+    }
+)
 public class Workout {
 
     @Id
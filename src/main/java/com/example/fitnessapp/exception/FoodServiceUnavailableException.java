@@ -0,0 +1,8 @@
+package com.example.fitnessapp.exception;
+
+public class FoodServiceUnavailableException extends FitnessAppException {
+
+    public FoodServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -20,6 +20,13 @@ public class GlobalExceptionHandler {
             .body("Resource not found: " + ex.getMessage());
     }
 
+    @ExceptionHandler(FoodServiceUnavailableException.class)
+    public Object handleFoodServiceUnavailable(FoodServiceUnavailableException ex) {
+        logger.warn("Food service unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body("Food service is temporarily unavailable. Please try again later.");
+    }
+
     @ExceptionHandler(FitnessAppException.class)
     public Object handleFitnessAppException(FitnessAppException ex) {
         logger.error("Fitness app exception: {}", ex.getMessage(), ex);
@@ -1,17 +1,113 @@
 package com.example.fitnessapp.repository;
 
+import com.example.fitnessapp.dto.DailyCaloriesSum;
+import com.example.fitnessapp.dto.DailyLogKey;
+import com.example.fitnessapp.dto.DailyLogNoteView;
+import com.example.fitnessapp.dto.DailyTotalsSnapshot;
+import com.example.fitnessapp.dto.ExportDailyLogRow;
 import com.example.fitnessapp.entities.DailyLog;
 import com.example.fitnessapp.entities.User;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface DailyLogRepository extends JpaRepository<DailyLog, UUID> {
 
     DailyLog findByUserAndDate(User user, LocalDate date);
 
     List<DailyLog> findByUserAndDateBetween(User user, LocalDate start, LocalDate end);
-}
 
+    boolean existsByUserIdAndDate(UUID userId, LocalDate date);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyLog d set d.totalCaloriesIn = coalesce(d.totalCaloriesIn, 0) + :delta where d.id = :dailyLogId")
+    int addCaloriesIn(@Param("dailyLogId") UUID dailyLogId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyLog d set d.totalCaloriesOut = coalesce(d.totalCaloriesOut, 0) + :delta "
+        + "where d.user.id = :userId and d.date = :date")
+    int addCaloriesOut(@Param("userId") UUID userId, @Param("date") LocalDate date, @Param("delta") int delta);
+
+    @Query("select new com.example.fitnessapp.dto.DailyTotalsSnapshot(d.id, d.user.id, d.date, d.totalCaloriesIn, d.totalCaloriesOut) "
+        + "from DailyLog d where d.date between :start and :end order by d.id")
+    Slice<DailyTotalsSnapshot> findTotalsBetween(@Param("start") LocalDate start, @Param("end") LocalDate end, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyLog d set d.totalCaloriesIn = :caloriesIn, d.totalCaloriesOut = :caloriesOut "
+        + "where d.id = :dailyLogId "
+        + "and coalesce(d.totalCaloriesIn, 0) = :expectedIn and coalesce(d.totalCaloriesOut, 0) = :expectedOut")
+    int repairTotals(
+        @Param("dailyLogId") UUID dailyLogId,
+        @Param("expectedIn") int expectedIn,
+        @Param("expectedOut") int expectedOut,
+        @Param("caloriesIn") int caloriesIn,
+        @Param("caloriesOut") int caloriesOut
+    );
+
+    @Query("select new com.example.fitnessapp.dto.DailyLogKey(d.id, d.date) from DailyLog d "
+        + "where d.date < :cutoff order by d.date, d.id")
+    List<DailyLogKey> findKeysBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    @Query("select new com.example.fitnessapp.dto.DailyLogKey(d.id, d.date) from DailyLog d "
+        + "where d.date < :cutoff and (d.date > :lastDate or (d.date = :lastDate and d.id > :lastId)) "
+        + "order by d.date, d.id")
+    List<DailyLogKey> findKeysBeforeAfter(
+        @Param("cutoff") LocalDate cutoff,
+        @Param("lastDate") LocalDate lastDate,
+        @Param("lastId") UUID lastId,
+        Pageable pageable
+    );
 
+    @Modifying
+    @Query("delete from DailyLog d where d.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select new com.example.fitnessapp.dto.DailyCaloriesSum(coalesce(sum(d.totalCaloriesIn), 0L), coalesce(sum(d.totalCaloriesOut), 0L)) "
+        + "from DailyLog d where d.user.id = :userId and d.date between :start and :end")
+    DailyCaloriesSum sumCaloriesBetween(
+        @Param("userId") UUID userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    @Query("select new com.example.fitnessapp.dto.DailyLogNoteView(d.date, d.notes, d.totalCaloriesIn, d.totalCaloriesOut) "
+        + "from DailyLog d where d.user.id = :userId and d.date between :start and :end "
+        + "and d.notes is not null and trim(d.notes) <> '' order by d.date")
+    List<DailyLogNoteView> findNotesBetween(
+        @Param("userId") UUID userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    @Query("select new com.example.fitnessapp.dto.DailyLogNoteView(d.date, d.notes, d.totalCaloriesIn, d.totalCaloriesOut) "
+        + "from DailyLog d where d.user.id = :userId and d.date <> :excludedDate "
+        + "and d.notes is not null and trim(d.notes) <> '' order by d.date desc")
+    Slice<DailyLogNoteView> findNotesExcluding(
+        @Param("userId") UUID userId,
+        @Param("excludedDate") LocalDate excludedDate,
+        Pageable pageable
+    );
+
+    @Query("select new com.example.fitnessapp.dto.DailyLogNoteView(d.date, d.notes, d.totalCaloriesIn, d.totalCaloriesOut) "
+        + "from DailyLog d where d.user.id = :userId and d.date = :date")
+    DailyLogNoteView findViewByUserIdAndDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.fitnessapp.dto.ExportDailyLogRow(d.date, d.totalCaloriesIn, d.totalCaloriesOut, d.notes) "
+        + "from DailyLog d where d.user.id = :userId order by d.date")
+    Stream<ExportDailyLogRow> streamExportRows(@Param("userId") UUID userId);
+}
@@ -0,0 +1,43 @@
+package com.example.fitnessapp.repository;
+
+import com.example.fitnessapp.dto.LatestWeight;
+import com.example.fitnessapp.entities.LatestProgress;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LatestProgressRepository extends JpaRepository<LatestProgress, UUID> {
+
+    @Query("select new com.example.fitnessapp.dto.LatestWeight(l.userId, l.weightKg) "
+        + "from LatestProgress l where l.userId in :userIds")
+    List<LatestWeight> findWeightsByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "insert into latest_progress (user_id, progress_id, date, weight_kg) "
+            + "values (:userId, :progressId, :date, :weightKg) on duplicate key update user_id = user_id",
+        nativeQuery = true
+    )
+    int insertIfAbsent(
+        @Param("userId") UUID userId,
+        @Param("progressId") UUID progressId,
+        @Param("date") LocalDate date,
+        @Param("weightKg") BigDecimal weightKg
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("update LatestProgress l set l.progressId = :progressId, l.date = :date, l.weightKg = :weightKg "
+        + "where l.userId = :userId and l.date <= :date")
+    int advance(
+        @Param("userId") UUID userId,
+        @Param("progressId") UUID progressId,
+        @Param("date") LocalDate date,
+        @Param("weightKg") BigDecimal weightKg
+    );
+}
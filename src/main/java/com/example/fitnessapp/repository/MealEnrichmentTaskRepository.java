@@ -0,0 +1,35 @@
+package com.example.fitnessapp.repository;
+
+import com.example.fitnessapp.entities.MealEnrichmentTask;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MealEnrichmentTaskRepository extends JpaRepository<MealEnrichmentTask, UUID> {
+
+    @Query("select t.id from MealEnrichmentTask t where t.nextAttemptAt <= :now "
+        + "and (t.leaseExpiresAt is null or t.leaseExpiresAt < :now) order by t.nextAttemptAt")
+    List<UUID> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("update MealEnrichmentTask t set t.leaseOwner = :owner, t.leaseExpiresAt = :leaseUntil "
+        + "where t.id in :ids and (t.leaseExpiresAt is null or t.leaseExpiresAt < :now)")
+    int lease(
+        @Param("ids") Collection<UUID> ids,
+        @Param("owner") String owner,
+        @Param("leaseUntil") LocalDateTime leaseUntil,
+        @Param("now") LocalDateTime now
+    );
+
+    List<MealEnrichmentTask> findByLeaseOwner(String leaseOwner);
+
+    @Modifying
+    @Query("delete from MealEnrichmentTask t where t.mealId = :mealId")
+    int deleteByMealId(@Param("mealId") UUID mealId);
+}
@@ -1,11 +1,23 @@
 package com.example.fitnessapp.repository;
 
+import com.example.fitnessapp.dto.ExportMealRow;
+import com.example.fitnessapp.dto.FoodNameCount;
+import com.example.fitnessapp.dto.MealCaloriesSum;
+import com.example.fitnessapp.dto.MealHistoryItem;
+import com.example.fitnessapp.dto.RollupMealAggregate;
 import com.example.fitnessapp.entities.Meal;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface MealRepository extends JpaRepository<Meal, UUID> {
@@ -15,8 +27,47 @@ public interface MealRepository extends JpaRepository<Meal, UUID> {
     @Query("select m from Meal m where m.dailyLog.user.id = :userId and m.dailyLog.date = :date")
     List<Meal> findByUserIdWithDate(@Param("userId") UUID userId, @Param("date") LocalDate date);
 
-    @Query("select m from Meal m where m.dailyLog.user.id = :userId order by m.dailyLog.date desc, m.mealType")
-    List<Meal> findByUserId(@Param("userId") UUID userId);
-}
+    @Query("select new com.example.fitnessapp.dto.MealCaloriesSum(m.dailyLog.id, sum(m.calories)) "
+        + "from Meal m where m.dailyLog.id in :dailyLogIds group by m.dailyLog.id")
+    List<MealCaloriesSum> sumCaloriesByDailyLogIds(@Param("dailyLogIds") Collection<UUID> dailyLogIds);
+
+    @Modifying
+    @Query("delete from Meal m where m.dailyLog.id in :dailyLogIds")
+    int deleteByDailyLogIdIn(@Param("dailyLogIds") Collection<UUID> dailyLogIds);
+
+    @Query("select new com.example.fitnessapp.dto.MealHistoryItem(m.id, d.date, m.mealType, m.foodName, m.servingSize, "
+        + "m.calories, m.protein, m.carbs, m.fats) from Meal m join m.dailyLog d where d.user.id = :userId "
+        + "order by d.date desc, cast(m.mealType as String), m.id")
+    List<MealHistoryItem> findHistoryFirstPage(@Param("userId") UUID userId, Pageable pageable);
 
+    @Query("select new com.example.fitnessapp.dto.MealHistoryItem(m.id, d.date, m.mealType, m.foodName, m.servingSize, "
+        + "m.calories, m.protein, m.carbs, m.fats) from Meal m join m.dailyLog d where d.user.id = :userId "
+        + "and (d.date < :date or (d.date = :date and (cast(m.mealType as String) > :mealType "
+        + "or (cast(m.mealType as String) = :mealType and m.id > :id)))) "
+        + "order by d.date desc, cast(m.mealType as String), m.id")
+    List<MealHistoryItem> findHistoryAfter(
+        @Param("userId") UUID userId,
+        @Param("date") LocalDate date,
+        @Param("mealType") String mealType,
+        @Param("id") UUID id,
+        Pageable pageable
+    );
 
+    @Query("select new com.example.fitnessapp.dto.FoodNameCount(lower(m.foodName), count(m)) from Meal m "
+        + "group by lower(m.foodName) order by count(m) desc")
+    List<FoodNameCount> countByFoodName(Pageable pageable);
+
+    @Query("select new com.example.fitnessapp.dto.RollupMealAggregate(d.user.id, d.date, sum(m.calories), "
+        + "cast(sum(m.protein) as Double), cast(sum(m.carbs) as Double), cast(sum(m.fats) as Double)) "
+        + "from Meal m join m.dailyLog d where d.date between :start and :end group by d.user.id, d.date")
+    List<RollupMealAggregate> aggregateByUserAndDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.fitnessapp.dto.ExportMealRow(d.date, m.mealType, m.foodName, m.servingSize, "
+        + "m.calories, m.protein, m.carbs, m.fats) from Meal m join m.dailyLog d where d.user.id = :userId "
+        + "order by d.date, m.id")
+    Stream<ExportMealRow> streamExportRows(@Param("userId") UUID userId);
+}
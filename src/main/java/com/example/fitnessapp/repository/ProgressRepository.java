@@ -2,17 +2,62 @@ package com.example.fitnessapp.repository;
 
 import com.example.fitnessapp.entities.Progress;
 import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.dto.ExportProgressRow;
+import com.example.fitnessapp.dto.LatestWeight;
+import com.example.fitnessapp.dto.RollupWeight;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ProgressRepository extends JpaRepository<Progress, UUID> {
 
     Optional<Progress> findTopByUserOrderByDateDesc(User user);
 
     List<Progress> findByUserAndDateBetween(User user, LocalDate start, LocalDate end);
-}
 
+    @Query("select p.weightKg from Progress p where p.user.id = :userId "
+        + "and p.date between :start and :end and p.weightKg is not null order by p.date asc, p.id asc")
+    List<BigDecimal> findFirstWeightsBetween(
+        @Param("userId") UUID userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        Pageable pageable
+    );
+
+    @Query("select p.weightKg from Progress p where p.user.id = :userId "
+        + "and p.date between :start and :end and p.weightKg is not null order by p.date desc, p.id desc")
+    List<BigDecimal> findLastWeightsBetween(
+        @Param("userId") UUID userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        Pageable pageable
+    );
+
+    @Query("select new com.example.fitnessapp.dto.LatestWeight(p.user.id, p.weightKg) from Progress p "
+        + "where p.user.id in :userIds and p.date = "
+        + "(select max(p2.date) from Progress p2 where p2.user.id = p.user.id)")
+    List<LatestWeight> findLatestWeightsByUserIds(@Param("userIds") Collection<UUID> userIds);
 
+    @Query("select new com.example.fitnessapp.dto.RollupWeight(p.user.id, p.date, p.weightKg) from Progress p "
+        + "where p.date between :start and :end and p.weightKg is not null order by p.date")
+    List<RollupWeight> findWeightsBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.fitnessapp.dto.ExportProgressRow(p.date, p.weightKg, p.measurementNotes) "
+        + "from Progress p where p.user.id = :userId order by p.date, p.id")
+    Stream<ExportProgressRow> streamExportRows(@Param("userId") UUID userId);
+}
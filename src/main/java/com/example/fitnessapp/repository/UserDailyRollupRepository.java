@@ -0,0 +1,84 @@
+package com.example.fitnessapp.repository;
+
+import com.example.fitnessapp.dto.RollupTotals;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserDailyRollupRepository extends JpaRepository<UserDailyRollup, UserDailyRollupId> {
+
+    List<UserDailyRollup> findByIdUserIdOrderByIdDateAsc(UUID userId);
+
+    @Modifying
+    @Query(
+        value = "insert into user_daily_rollup (user_id, date, calories_in, calories_out, protein, carbs, fat, "
+            + "workout_count, cardio_minutes, strength_minutes, yoga_minutes, other_minutes) "
+            + "values (:userId, :date, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0) on duplicate key update user_id = user_id",
+        nativeQuery = true
+    )
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("date") LocalDate date);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update UserDailyRollup r set r.caloriesIn = r.caloriesIn + :caloriesIn, "
+        + "r.caloriesOut = r.caloriesOut + :caloriesOut, "
+        + "r.protein = r.protein + :protein, r.carbs = r.carbs + :carbs, r.fat = r.fat + :fat, "
+        + "r.workoutCount = r.workoutCount + :workoutCount, "
+        + "r.cardioMinutes = r.cardioMinutes + :cardioMinutes, "
+        + "r.strengthMinutes = r.strengthMinutes + :strengthMinutes, "
+        + "r.yogaMinutes = r.yogaMinutes + :yogaMinutes, "
+        + "r.otherMinutes = r.otherMinutes + :otherMinutes "
+        + "where r.id.userId = :userId and r.id.date = :date")
+    int applyDelta(
+        @Param("userId") UUID userId,
+        @Param("date") LocalDate date,
+        @Param("caloriesIn") int caloriesIn,
+        @Param("caloriesOut") int caloriesOut,
+        @Param("protein") double protein,
+        @Param("carbs") double carbs,
+        @Param("fat") double fat,
+        @Param("workoutCount") int workoutCount,
+        @Param("cardioMinutes") int cardioMinutes,
+        @Param("strengthMinutes") int strengthMinutes,
+        @Param("yogaMinutes") int yogaMinutes,
+        @Param("otherMinutes") int otherMinutes
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("update UserDailyRollup r set r.lastWeightKg = :weightKg where r.id.userId = :userId and r.id.date = :date")
+    int setLastWeight(@Param("userId") UUID userId, @Param("date") LocalDate date, @Param("weightKg") BigDecimal weightKg);
+
+    @Query("select new com.example.fitnessapp.dto.RollupTotals(coalesce(sum(r.caloriesIn), 0L), "
+        + "coalesce(sum(r.caloriesOut), 0L), coalesce(sum(r.workoutCount), 0L)) "
+        + "from UserDailyRollup r where r.id.userId = :userId and r.id.date between :start and :end")
+    RollupTotals sumBetween(@Param("userId") UUID userId, @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("select r.lastWeightKg from UserDailyRollup r where r.id.userId = :userId "
+        + "and r.id.date between :start and :end and r.lastWeightKg is not null order by r.id.date asc")
+    List<BigDecimal> findFirstWeightsBetween(
+        @Param("userId") UUID userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        Pageable pageable
+    );
+
+    @Query("select r.lastWeightKg from UserDailyRollup r where r.id.userId = :userId "
+        + "and r.id.date between :start and :end and r.lastWeightKg is not null order by r.id.date desc")
+    List<BigDecimal> findLastWeightsBetween(
+        @Param("userId") UUID userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end,
+        Pageable pageable
+    );
+
+    @Modifying
+    @Query("delete from UserDailyRollup r where r.id.date between :start and :end")
+    int deleteBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
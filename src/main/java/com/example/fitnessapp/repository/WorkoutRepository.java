@@ -1,12 +1,22 @@
 package com.example.fitnessapp.repository;
 
+import com.example.fitnessapp.dto.ExportWorkoutRow;
+import com.example.fitnessapp.dto.RollupWorkoutAggregate;
+import com.example.fitnessapp.dto.WorkoutCaloriesEntry;
 import com.example.fitnessapp.entities.User;
 import com.example.fitnessapp.entities.Workout;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface WorkoutRepository extends JpaRepository<Workout, UUID> {
 
@@ -14,6 +24,16 @@ public interface WorkoutRepository extends JpaRepository<Workout, UUID> {
 
     List<Workout> findByUser(User user);
 
+    List<Workout> findTop5ByUserIdAndDateTimeBetweenOrderByDateTimeDesc(UUID userId, LocalDateTime start, LocalDateTime end);
+
+    @Query("select new com.example.fitnessapp.dto.WorkoutCaloriesEntry(w.user.id, w.dateTime, w.caloriesBurned) "
+        + "from Workout w where w.user.id in :userIds and w.dateTime >= :from and w.dateTime < :to")
+    List<WorkoutCaloriesEntry> findCaloriesByUserIdsBetween(
+        @Param("userIds") Collection<UUID> userIds,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+
     default List<Workout> findByUserAndDateBetween(User user, LocalDate start, LocalDate end) {
          if (start == null && end == null) {
             return findByUser(user);
@@ -28,6 +48,28 @@ public interface WorkoutRepository extends JpaRepository<Workout, UUID> {
         LocalDateTime endDateTime = end.plusDays(1).atStartOfDay();
         return findByUserAndDateTimeBetween(user, startDateTime, endDateTime);
     }
-}
 
+    @Query("select count(w) from Workout w where w.user.id = :userId and w.dateTime >= :from and w.dateTime < :to")
+    long countByUserIdBetween(
+        @Param("userId") UUID userId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
 
+    @Query("select new com.example.fitnessapp.dto.RollupWorkoutAggregate(w.user.id, cast(w.dateTime as LocalDate), w.type, "
+        + "count(w), sum(w.durationMinutes), sum(w.caloriesBurned)) "
+        + "from Workout w where w.dateTime >= :from and w.dateTime < :to "
+        + "group by w.user.id, cast(w.dateTime as LocalDate), w.type")
+    List<RollupWorkoutAggregate> aggregateByUserDateAndTypeBetween(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.example.fitnessapp.dto.ExportWorkoutRow(w.dateTime, w.type, w.durationMinutes, w.caloriesBurned, w.notes) "
+        + "from Workout w where w.user.id = :userId order by w.dateTime, w.id")
+    Stream<ExportWorkoutRow> streamExportRows(@Param("userId") UUID userId);
+}
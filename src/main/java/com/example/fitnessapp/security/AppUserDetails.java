@@ -0,0 +1,26 @@
+package com.example.fitnessapp.security;
+
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+public class AppUserDetails extends User {
+
+    private final UUID id;
+
+    public AppUserDetails(
+        UUID id,
+        String username,
+        String password,
+        boolean enabled,
+        Collection<? extends GrantedAuthority> authorities
+    ) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.id = id;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.fitnessapp.security;
+
+import com.example.fitnessapp.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class CurrentUserIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentUserIdArgumentResolver.class);
+
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    private final UserRepository userRepository;
+    private final Map<String, UUID> userIds = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+                return size() > MAX_CACHED_USERS;
+            }
+        }
+    );
+
+    public CurrentUserIdArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUserId.class)
+            && UUID.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(
+        MethodParameter parameter,
+        ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        WebDataBinderFactory binderFactory
+    ) {
+        Principal principal = webRequest.getUserPrincipal();
+        if (principal == null) {
+            CurrentUserId annotation = parameter.getParameterAnnotation(CurrentUserId.class);
+            if (annotation != null && !annotation.required()) {
+                return null;
+            }
+            throw new AuthenticationCredentialsNotFoundException("User is not authenticated");
+        }
+        if (principal instanceof Authentication authentication
+            && authentication.getPrincipal() instanceof AppUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return resolveUserId(principal.getName());
+    }
+
+    public UUID resolveUserId(String username) {
+        UUID cached = userIds.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        UUID userId = userRepository
+            .findByUsername(username)
+            .orElseThrow(() -> new EntityNotFoundException("User not found"))
+            .getId();
+        userIds.put(username, userId);
+        return userId;
+    }
+
+    @EventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        if (userIds.remove(event.username()) != null) {
+            logger.debug("Evicted cached user ID for username: {}", event.username());
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.example.fitnessapp.security;
+
+public record UserAccountChangedEvent(String username) {}
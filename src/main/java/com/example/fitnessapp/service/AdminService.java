@@ -3,8 +3,10 @@ package com.example.fitnessapp.service;
 import com.example.fitnessapp.entities.Role;
 import com.example.fitnessapp.entities.User;
 import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.UserAccountChangedEvent;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,10 +21,16 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AdminService(UserRepository userRepository, UserService userService) {
+    public AdminService(
+        UserRepository userRepository,
+        UserService userService,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.userRepository = userRepository;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -36,6 +44,7 @@ public class AdminService {
         User user = userService.requireUser(userId);
         user.getRoles().add(role);
         User saved = userRepository.save(user);
+        publishAccountChanged(saved);
         logger.info("Role assigned successfully");
         return saved;
     }
@@ -46,18 +55,23 @@ public class AdminService {
         User user = userService.requireUser(userId);
         user.getRoles().remove(role);
         User saved = userRepository.save(user);
+        publishAccountChanged(saved);
         logger.info("Role revoked successfully");
         return saved;
     }
 
     @Transactional
     public User blockUser(UUID userId) {
-        return userService.blockUser(userId);
+        User blocked = userService.blockUser(userId);
+        publishAccountChanged(blocked);
+        return blocked;
     }
 
     @Transactional
     public User unblockUser(UUID userId) {
-        return userService.unblockUser(userId);
+        User unblocked = userService.unblockUser(userId);
+        publishAccountChanged(unblocked);
+        return unblocked;
     }
 
     @Transactional
@@ -65,8 +79,13 @@ public class AdminService {
         logger.info("Deleting user ID: {}", userId);
         User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found"));
         userRepository.delete(user);
+        publishAccountChanged(user);
         logger.info("User deleted successfully: {}", userId);
     }
+
+    private void publishAccountChanged(User user) {
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getUsername()));
+    }
 }
 
 
@@ -0,0 +1,234 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodDto;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.dto.NutrientVector;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+final class CacheSnapshotCodec {
+
+    static final int MAGIC = 0x46435348;
+    static final short VERSION = 1;
+
+    private static final byte SECTION_VECTORS = 1;
+    private static final byte SECTION_SEARCHES = 2;
+    private static final byte SECTION_FOODS = 3;
+    private static final byte SECTION_END = 0;
+    private static final int HEADER_BYTES = 4 + 2 + 8;
+
+    private CacheSnapshotCodec() {
+    }
+
+    record Snapshot(
+        Instant createdAt,
+        List<NutrientVector> vectors,
+        Map<String, FoodSearchResult> searches,
+        Map<Long, FoodDto> foods
+    ) {
+        int size() {
+            return vectors.size() + searches.size() + foods.size();
+        }
+    }
+
+    static long write(Snapshot snapshot, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeLong(snapshot.createdAt().toEpochMilli());
+                DataOutputStream body = new DataOutputStream(new CheckedOutputStream(out, crc));
+                writeBody(snapshot, body);
+                body.flush();
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static Snapshot read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 1 + 8) {
+                throw new IOException("Cache snapshot is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a cache snapshot");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported cache snapshot version " + version);
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+
+            ByteBuffer body = buffer.slice(HEADER_BYTES, (int) size - HEADER_BYTES - 8);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != buffer.getLong((int) size - 8)) {
+                throw new IOException("Cache snapshot checksum mismatch");
+            }
+            return readBody(createdAt, body);
+        }
+    }
+
+    private static void writeBody(Snapshot snapshot, DataOutputStream out) throws IOException {
+        out.writeByte(SECTION_VECTORS);
+        out.writeInt(snapshot.vectors().size());
+        for (NutrientVector vector : snapshot.vectors()) {
+            out.writeLong(vector.foodItemId().getMostSignificantBits());
+            out.writeLong(vector.foodItemId().getLeastSignificantBits());
+            writeString(out, vector.name());
+            out.writeDouble(vector.caloriesPerGram());
+            out.writeDouble(vector.proteinPerGram());
+            out.writeDouble(vector.carbsPerGram());
+            out.writeDouble(vector.fatPerGram());
+            out.writeDouble(vector.fiberPerGram());
+            out.writeInt(vector.servingSizeGrams());
+        }
+
+        out.writeByte(SECTION_SEARCHES);
+        out.writeInt(snapshot.searches().size());
+        for (Map.Entry<String, FoodSearchResult> entry : snapshot.searches().entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeBoolean(entry.getValue().complete());
+            out.writeInt(entry.getValue().foods().size());
+            for (FoodSearchResponse.FoodSearchItem item : entry.getValue().foods()) {
+                writeString(out, item.id());
+                writeString(out, item.name());
+                writeString(out, item.servingSize());
+                writeInteger(out, item.calories());
+            }
+        }
+
+        out.writeByte(SECTION_FOODS);
+        out.writeInt(snapshot.foods().size());
+        for (Map.Entry<Long, FoodDto> entry : snapshot.foods().entrySet()) {
+            FoodDto food = entry.getValue();
+            out.writeLong(entry.getKey());
+            writeString(out, food.name());
+            writeString(out, food.servingSize());
+            writeInteger(out, food.calories());
+            writeFloat(out, food.protein());
+            writeFloat(out, food.carbs());
+            writeFloat(out, food.fats());
+        }
+        out.writeByte(SECTION_END);
+    }
+
+    private static Snapshot readBody(Instant createdAt, ByteBuffer in) throws IOException {
+        List<NutrientVector> vectors = new ArrayList<>();
+        Map<String, FoodSearchResult> searches = new LinkedHashMap<>();
+        Map<Long, FoodDto> foods = new LinkedHashMap<>();
+        byte section;
+        while ((section = in.get()) != SECTION_END) {
+            int count = in.getInt();
+            switch (section) {
+                case SECTION_VECTORS -> {
+                    for (int i = 0; i < count; i++) {
+                        vectors.add(new NutrientVector(
+                            new UUID(in.getLong(), in.getLong()), readString(in),
+                            in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(),
+                            in.getInt()
+                        ));
+                    }
+                }
+                case SECTION_SEARCHES -> {
+                    for (int i = 0; i < count; i++) {
+                        String key = readString(in);
+                        boolean complete = in.get() != 0;
+                        int items = in.getInt();
+                        List<FoodSearchResponse.FoodSearchItem> results = new ArrayList<>(items);
+                        for (int j = 0; j < items; j++) {
+                            results.add(new FoodSearchResponse.FoodSearchItem(
+                                readString(in), readString(in), readString(in), readInteger(in)
+                            ));
+                        }
+                        searches.put(key, new FoodSearchResult(List.copyOf(results), complete));
+                    }
+                }
+                case SECTION_FOODS -> {
+                    for (int i = 0; i < count; i++) {
+                        long id = in.getLong();
+                        foods.put(id, new FoodDto(
+                            id, readString(in), readString(in), readInteger(in), readFloat(in), readFloat(in), readFloat(in)
+                        ));
+                    }
+                }
+                default -> throw new IOException("Unknown cache snapshot section " + section);
+            }
+        }
+        return new Snapshot(createdAt, vectors, searches, foods);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    private static void writeFloat(DataOutputStream out, Float value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static Float readFloat(ByteBuffer in) {
+        return in.get() != 0 ? in.getFloat() : null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.FoodDto;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.dto.NutrientVector;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheSnapshotService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshotService.class);
+
+    private final CacheManager cacheManager;
+    private final NutrientVectorCache nutrientVectors;
+    private final FoodPopularity popularity;
+    private final FitnessAppProperties.Cache.Snapshot snapshot;
+    private final Timer loadTimer;
+    private final AtomicLong snapshotBytes = new AtomicLong();
+    private final AtomicLong restoredEntries = new AtomicLong();
+
+    public CacheSnapshotService(
+        CacheManager cacheManager,
+        NutrientVectorCache nutrientVectors,
+        FoodPopularity popularity,
+        FitnessAppProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.cacheManager = cacheManager;
+        this.nutrientVectors = nutrientVectors;
+        this.popularity = popularity;
+        this.snapshot = properties.getCache().getSnapshot();
+        this.loadTimer = meterRegistry.timer("fitnessapp.cache.snapshot.load");
+        meterRegistry.gauge("fitnessapp.cache.snapshot.bytes", snapshotBytes);
+        meterRegistry.gauge("fitnessapp.cache.snapshot.restored.entries", restoredEntries);
+        for (String name : List.of(FoodSearchCache.CACHE_NAME, FoodCacheInvalidator.FOOD_CACHE_NAME)) {
+            meterRegistry.gauge("fitnessapp.cache.hit.ratio", List.of(Tag.of("cache", name)),
+                this, service -> service.hitRate(name));
+        }
+        meterRegistry.gauge("fitnessapp.cache.hit.ratio", List.of(Tag.of("cache", "nutrientVectors")),
+            nutrientVectors, NutrientVectorCache::hitRate);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (snapshot.isEnabled()) {
+            restore();
+        }
+    }
+
+    public void restore() {
+        Path path = Path.of(snapshot.getPath());
+        if (!Files.isRegularFile(path)) {
+            logger.info("No cache snapshot at {}, starting with cold caches", path.toAbsolutePath());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CacheSnapshotCodec.Snapshot restored = CacheSnapshotCodec.read(path);
+            if (restored.createdAt().isBefore(Instant.now().minus(snapshot.getMaxAge()))) {
+                logger.info("Ignoring cache snapshot from {}, older than {}", restored.createdAt(), snapshot.getMaxAge());
+                return;
+            }
+            restored.vectors().forEach(nutrientVectors::put);
+            Cache searches = cacheManager.getCache(FoodSearchCache.CACHE_NAME);
+            if (searches != null) {
+                restored.searches().forEach(searches::put);
+            }
+            Cache foods = cacheManager.getCache(FoodCacheInvalidator.FOOD_CACHE_NAME);
+            if (foods != null) {
+                restored.foods().forEach(foods::put);
+            }
+            long elapsed = System.nanoTime() - start;
+            loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            snapshotBytes.set(Files.size(path));
+            restoredEntries.set(restored.size());
+            logger.info(
+                "Restored cache snapshot from {}: {} nutrient vectors, {} searches, {} foods in {} ms",
+                restored.createdAt(), restored.vectors().size(), restored.searches().size(), restored.foods().size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed)
+            );
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable cache snapshot {}: {}", path.toAbsolutePath(), e.getMessage());
+        }
+    }
+
+    @Scheduled(
+        fixedDelayString = "${fitnessapp.cache.snapshot.interval:PT10M}",
+        initialDelayString = "${fitnessapp.cache.snapshot.interval:PT10M}"
+    )
+    public void scheduledWrite() {
+        if (!snapshot.isEnabled()) {
+            return;
+        }
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write cache snapshot: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        scheduledWrite();
+    }
+
+    public long write() throws IOException {
+        int maxEntries = snapshot.getMaxEntries();
+        List<NutrientVector> vectors = new ArrayList<>(nutrientVectors.hottest(maxEntries));
+        Set<UUID> included = new HashSet<>();
+        vectors.forEach(vector -> included.add(vector.foodItemId()));
+        for (String name : popularity.top(snapshot.getPopularFoods())) {
+            NutrientVector vector = nutrientVectors.peekByName(name);
+            if (vector != null && included.add(vector.foodItemId())) {
+                vectors.add(vector);
+            }
+        }
+        CacheSnapshotCodec.Snapshot current = new CacheSnapshotCodec.Snapshot(
+            Instant.now(),
+            vectors,
+            hottest(FoodSearchCache.CACHE_NAME, maxEntries, String.class, FoodSearchResult.class),
+            hottest(FoodCacheInvalidator.FOOD_CACHE_NAME, maxEntries, Long.class, FoodDto.class)
+        );
+        long bytes = CacheSnapshotCodec.write(current, Path.of(snapshot.getPath()));
+        snapshotBytes.set(bytes);
+        logger.info("Wrote cache snapshot: {} entries, {} bytes", current.size(), bytes);
+        return bytes;
+    }
+
+    private <K, V> Map<K, V> hottest(String cacheName, int limit, Class<K> keyType, Class<V> valueType) {
+        Map<?, ?> entries = caffeine(cacheName)
+            .map(cache -> cache.policy().eviction()
+                .<Map<?, ?>>map(eviction -> eviction.hottest(limit))
+                .orElseGet(cache::asMap))
+            .orElse(Map.of());
+        Map<K, V> result = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (keyType.isInstance(entry.getKey()) && valueType.isInstance(entry.getValue())) {
+                result.put(keyType.cast(entry.getKey()), valueType.cast(entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private double hitRate(String cacheName) {
+        return caffeine(cacheName).map(cache -> cache.stats().hitRate()).orElse(Double.NaN);
+    }
+
+    private Optional<com.github.benmanes.caffeine.cache.Cache<?, ?>> caffeine(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Object nativeCache = cache != null ? cache.getNativeCache() : null;
+        return nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine
+            ? Optional.of(caffeine)
+            : Optional.empty();
+    }
+}
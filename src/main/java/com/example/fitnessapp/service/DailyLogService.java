@@ -1,5 +1,11 @@
 package com.example.fitnessapp.service;
 
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.DailyLogNoteView;
+import com.example.fitnessapp.dto.DailyTotalsSnapshot;
+import com.example.fitnessapp.dto.MealCaloriesSum;
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.dto.WorkoutCaloriesEntry;
 import com.example.fitnessapp.entities.DailyLog;
 import com.example.fitnessapp.entities.Meal;
 import com.example.fitnessapp.entities.User;
@@ -10,8 +16,17 @@ import com.example.fitnessapp.repository.UserRepository;
 import com.example.fitnessapp.repository.WorkoutRepository;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -26,17 +41,26 @@ public class DailyLogService {
     private final UserRepository userRepository;
     private final MealRepository mealRepository;
     private final WorkoutRepository workoutRepository;
+    private final UserDailyRollupService rollupService;
+    private final FitnessAppProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DailyLogService(
         DailyLogRepository dailyLogRepository,
         UserRepository userRepository,
         MealRepository mealRepository,
-        WorkoutRepository workoutRepository
+        WorkoutRepository workoutRepository,
+        UserDailyRollupService rollupService,
+        FitnessAppProperties properties,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.dailyLogRepository = dailyLogRepository;
         this.userRepository = userRepository;
         this.mealRepository = mealRepository;
         this.workoutRepository = workoutRepository;
+        this.rollupService = rollupService;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -62,6 +86,7 @@ public class DailyLogService {
         log.setTotalCaloriesOut(0);
         DailyLog saved = dailyLogRepository.save(log);
         dailyLogRepository.flush();
+        publishTotalsChanged(userId, date);
         logger.info("Daily log created successfully with ID: {}", saved.getId());
         return saved;
     }
@@ -80,7 +105,10 @@ public class DailyLogService {
     @Transactional
     public void deleteDailyLog(UUID dailyLogId) {
         DailyLog log = requireDailyLog(dailyLogId);
+        RollupDelta meals = log.getMeals().stream().map(RollupDelta::ofMeal).reduce(RollupDelta.ZERO, RollupDelta::plus);
         dailyLogRepository.delete(log);
+        rollupService.apply(log.getUser().getId(), log.getDate(), meals.negate());
+        publishTotalsChanged(log.getUser().getId(), log.getDate());
     }
 
     @Transactional
@@ -111,10 +139,170 @@ public class DailyLogService {
         log.setTotalCaloriesIn(caloriesIn);
         log.setTotalCaloriesOut(caloriesOut);
         DailyLog saved = dailyLogRepository.save(log);
+        publishTotalsChanged(userId, date);
         logger.debug("Daily totals computed: calories in: {}, calories out: {}", caloriesIn, caloriesOut);
         return saved;
     }
 
+    @Transactional
+    public void applyMealCaloriesDelta(DailyLog log, int delta) {
+        if (log == null) {
+            return;
+        }
+        if (!properties.getTotals().isIncremental()) {
+            computeDailyTotals(log.getUser().getId(), log.getDate());
+            return;
+        }
+        if (delta == 0) {
+            return;
+        }
+        if (dailyLogRepository.addCaloriesIn(log.getId(), delta) == 0) {
+            logger.warn("Daily log not found for ID: {}", log.getId());
+            throw new EntityNotFoundException("Daily log not found");
+        }
+        publishTotalsChanged(log.getUser().getId(), log.getDate());
+        logger.debug("Applied calories in delta {} to daily log ID: {}", delta, log.getId());
+    }
+
+    @Transactional
+    public void applyWorkoutCaloriesDelta(UUID userId, LocalDate date, int delta) {
+        if (!properties.getTotals().isIncremental()) {
+            computeDailyTotals(userId, date);
+            return;
+        }
+        if (dailyLogRepository.addCaloriesOut(userId, date, delta) == 0) {
+            logger.warn("Daily log not found for user ID: {}, date: {}", userId, date);
+            throw new EntityNotFoundException("Daily log not found for date");
+        }
+        publishTotalsChanged(userId, date);
+        logger.debug("Applied calories out delta {} for user ID: {}, date: {}", delta, userId, date);
+    }
+
+    @Transactional
+    public void applyWorkoutCaloriesDeltaIfLogged(UUID userId, LocalDate date, int delta) {
+        if (!properties.getTotals().isIncremental()) {
+            if (dailyLogRepository.existsByUserIdAndDate(userId, date)) {
+                computeDailyTotals(userId, date);
+            }
+            return;
+        }
+        if (dailyLogRepository.addCaloriesOut(userId, date, delta) == 0) {
+            logger.debug("No daily log for user ID: {}, date: {}, skipped calories out delta {}", userId, date, delta);
+            return;
+        }
+        publishTotalsChanged(userId, date);
+        logger.debug("Applied calories out delta {} for user ID: {}, date: {}", delta, userId, date);
+    }
+
+    @Transactional
+    public int reconcileTotals(LocalDate start, LocalDate end) {
+        logger.info("Reconciling daily totals from {} to {}", start, end);
+        int batchSize = Math.max(1, properties.getTotals().getReconcileBatchSize());
+        Pageable pageable = PageRequest.of(0, batchSize);
+        int checked = 0;
+        int repaired = 0;
+        Slice<DailyTotalsSnapshot> slice;
+        do {
+            slice = dailyLogRepository.findTotalsBetween(start, end, pageable);
+            checked += slice.getNumberOfElements();
+            repaired += repairDrift(slice.getContent());
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+        logger.info("Daily totals reconciliation completed. Checked {} logs, repaired {}", checked, repaired);
+        return repaired;
+    }
+
+    private int repairDrift(List<DailyTotalsSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Set<UUID> logIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        LocalDate minDate = snapshots.get(0).date();
+        LocalDate maxDate = minDate;
+        for (DailyTotalsSnapshot snapshot : snapshots) {
+            logIds.add(snapshot.dailyLogId());
+            userIds.add(snapshot.userId());
+            minDate = snapshot.date().isBefore(minDate) ? snapshot.date() : minDate;
+            maxDate = snapshot.date().isAfter(maxDate) ? snapshot.date() : maxDate;
+        }
+
+        Map<UUID, Integer> caloriesIn = new HashMap<>();
+        for (MealCaloriesSum sum : mealRepository.sumCaloriesByDailyLogIds(logIds)) {
+            caloriesIn.put(sum.dailyLogId(), sum.calories() != null ? sum.calories().intValue() : 0);
+        }
+
+        Map<String, Integer> caloriesOut = new HashMap<>();
+        for (WorkoutCaloriesEntry entry : workoutRepository.findCaloriesByUserIdsBetween(
+            userIds,
+            minDate.atStartOfDay(),
+            maxDate.plusDays(1).atStartOfDay()
+        )) {
+            if (entry.caloriesBurned() != null) {
+                caloriesOut.merge(totalsKey(entry.userId(), entry.dateTime().toLocalDate()), entry.caloriesBurned(), Integer::sum);
+            }
+        }
+
+        int repaired = 0;
+        for (DailyTotalsSnapshot snapshot : snapshots) {
+            int storedIn = snapshot.totalCaloriesIn() != null ? snapshot.totalCaloriesIn() : 0;
+            int storedOut = snapshot.totalCaloriesOut() != null ? snapshot.totalCaloriesOut() : 0;
+            int expectedIn = caloriesIn.getOrDefault(snapshot.dailyLogId(), 0);
+            int expectedOut = caloriesOut.getOrDefault(totalsKey(snapshot.userId(), snapshot.date()), 0);
+            if (storedIn == expectedIn && storedOut == expectedOut) {
+                continue;
+            }
+            logger.warn(
+                "Daily totals drift for log ID: {} (in {} -> {}, out {} -> {})",
+                snapshot.dailyLogId(), storedIn, expectedIn, storedOut, expectedOut
+            );
+            int updated = dailyLogRepository.repairTotals(snapshot.dailyLogId(), storedIn, storedOut, expectedIn, expectedOut);
+            if (updated > 0) {
+                publishTotalsChanged(snapshot.userId(), snapshot.date());
+            }
+            repaired += updated;
+        }
+        return repaired;
+    }
+
+    private void publishTotalsChanged(UUID userId, LocalDate date) {
+        eventPublisher.publishEvent(new DailyTotalsChangedEvent(userId, date));
+    }
+
+    private static String totalsKey(UUID userId, LocalDate date) {
+        return userId + "_" + date;
+    }
+
+    public DailyLogNoteView getOrCreateLogView(UUID userId, LocalDate date) {
+        DailyLogNoteView existing = dailyLogRepository.findViewByUserIdAndDate(userId, date);
+        if (existing != null) {
+            return existing;
+        }
+        DailyLog log = new DailyLog();
+        log.setUser(userRepository.getReferenceById(userId));
+        log.setDate(date);
+        log.setTotalCaloriesIn(0);
+        log.setTotalCaloriesOut(0);
+        try {
+            dailyLogRepository.saveAndFlush(log);
+            logger.info("Daily log created for user ID: {}, date: {}", userId, date);
+            publishTotalsChanged(userId, date);
+        } catch (DataIntegrityViolationException e) {
+            existing = dailyLogRepository.findViewByUserIdAndDate(userId, date);
+            if (existing == null) {
+                throw e;
+            }
+            logger.debug("Daily log for user ID: {}, date: {} was created concurrently", userId, date);
+            return existing;
+        }
+        return dailyLogRepository.findViewByUserIdAndDate(userId, date);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<DailyLogNoteView> getNotesPage(UUID userId, LocalDate excludedDate, Pageable pageable) {
+        return dailyLogRepository.findNotesExcluding(userId, excludedDate, pageable);
+    }
+
     @Transactional(readOnly = true)
     public List<DailyLog> getLogsBetween(UUID userId, LocalDate start, LocalDate end) {
         User user = requireUser(userId);
@@ -0,0 +1,6 @@
+package com.example.fitnessapp.service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record DailyTotalsChangedEvent(UUID userId, LocalDate date) {}
@@ -0,0 +1,117 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.DashboardView;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.repository.DailyLogRepository;
+import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.repository.WorkoutRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    static final String DASHBOARD_CACHE = "dashboardCache";
+    private static final int GENERATION_STRIPES = 256;
+
+    private final CacheService cacheService;
+    private final UserRepository userRepository;
+    private final DailyLogRepository dailyLogRepository;
+    private final WorkoutRepository workoutRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Timer memoryTimer;
+    private final Timer databaseTimer;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public DashboardService(
+        CacheService cacheService,
+        UserRepository userRepository,
+        DailyLogRepository dailyLogRepository,
+        WorkoutRepository workoutRepository,
+        MeterRegistry meterRegistry,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.cacheService = cacheService;
+        this.userRepository = userRepository;
+        this.dailyLogRepository = dailyLogRepository;
+        this.workoutRepository = workoutRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.memoryTimer = Timer.builder("fitnessapp.dashboard.view")
+            .description("Time to build the dashboard view model")
+            .tag("source", "memory")
+            .register(meterRegistry);
+        this.databaseTimer = Timer.builder("fitnessapp.dashboard.view")
+            .description("Time to build the dashboard view model")
+            .tag("source", "database")
+            .register(meterRegistry);
+    }
+
+    public DashboardView getDashboard(UUID userId) {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        DashboardKey key = new DashboardKey(userId, today);
+        DashboardView cached = cacheService.get(DASHBOARD_CACHE, key, DashboardView.class);
+        if (cached != null) {
+            memoryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        // Only a miss opens a transaction, so a cache hit never checks out a pooled connection.
+        DashboardView view = readOnlyTransactionTemplate.execute(status -> loadDashboard(userId, today));
+        cacheService.put(DASHBOARD_CACHE, key, view);
+        if (generations.get(stripe) != generation) {
+            cacheService.evict(DASHBOARD_CACHE, key);
+        }
+        databaseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return view;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyTotalsChanged(DailyTotalsChangedEvent event) {
+        logger.debug("Evicting dashboard view for user ID: {}", event.userId());
+        generations.incrementAndGet(stripe(event.userId()));
+        cacheService.evict(DASHBOARD_CACHE, new DashboardKey(event.userId(), LocalDate.now()));
+    }
+
+    private static int stripe(UUID userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private DashboardView loadDashboard(UUID userId, LocalDate today) {
+        User user = userRepository.getReferenceById(userId);
+        DailyLog todayLog = dailyLogRepository.findByUserAndDate(user, today);
+        DashboardView.TodayTotals totals = todayLog == null
+            ? null
+            : new DashboardView.TodayTotals(todayLog.getTotalCaloriesIn(), todayLog.getTotalCaloriesOut());
+
+        List<DashboardView.RecentWorkout> recentWorkouts = workoutRepository
+            .findTop5ByUserIdAndDateTimeBetweenOrderByDateTimeDesc(userId, today.minusDays(7).atStartOfDay(), today.atTime(LocalTime.MAX))
+            .stream()
+            .map(workout -> new DashboardView.RecentWorkout(
+                workout.getType(),
+                workout.getDateTime(),
+                workout.getCaloriesBurned()
+            ))
+            .toList();
+        return new DashboardView(today, totals, recentWorkouts);
+    }
+
+    private record DashboardKey(UUID userId, LocalDate date) {}
+}
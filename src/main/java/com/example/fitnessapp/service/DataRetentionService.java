@@ -0,0 +1,120 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.DailyLogKey;
+import com.example.fitnessapp.repository.DailyLogRepository;
+import com.example.fitnessapp.repository.MealRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class DataRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataRetentionService.class);
+
+    private final DailyLogRepository dailyLogRepository;
+    private final MealRepository mealRepository;
+    private final FitnessAppProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter deletedLogs;
+    private final Counter deletedMeals;
+    private final Counter batches;
+    private final Timer batchTimer;
+    private final AtomicLong runDeletedLogs = new AtomicLong();
+
+    public DataRetentionService(
+        DailyLogRepository dailyLogRepository,
+        MealRepository mealRepository,
+        FitnessAppProperties properties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.dailyLogRepository = dailyLogRepository;
+        this.mealRepository = mealRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deletedLogs = meterRegistry.counter("fitnessapp.retention.deleted", "entity", "daily_log");
+        this.deletedMeals = meterRegistry.counter("fitnessapp.retention.deleted", "entity", "meal");
+        this.batches = meterRegistry.counter("fitnessapp.retention.batches");
+        this.batchTimer = meterRegistry.timer("fitnessapp.retention.batch");
+        meterRegistry.gauge("fitnessapp.retention.run.deleted", runDeletedLogs);
+    }
+
+    public long purgeExpiredDailyLogs() {
+        FitnessAppProperties.Retention retention = properties.getRetention();
+        return purgeDailyLogsBefore(LocalDate.now().minusDays(retention.getDays()));
+    }
+
+    public long purgeDailyLogsBefore(LocalDate cutoff) {
+        FitnessAppProperties.Retention retention = properties.getRetention();
+        int batchSize = Math.max(1, retention.getBatchSize());
+        runDeletedLogs.set(0);
+
+        DailyLogKey last = null;
+        while (true) {
+            DailyLogKey cursor = last;
+            List<DailyLogKey> chunk = batchTimer.record(() -> transactionTemplate.execute(status -> deleteChunk(cursor, cutoff, batchSize)));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            last = chunk.get(chunk.size() - 1);
+            if (chunk.size() < batchSize) {
+                break;
+            }
+            if (!pause(retention.getPauseBetweenBatches())) {
+                break;
+            }
+        }
+
+        logger.info("Retention purge before {} completed. Deleted {} daily logs", cutoff, runDeletedLogs.get());
+        return runDeletedLogs.get();
+    }
+
+    private List<DailyLogKey> deleteChunk(DailyLogKey cursor, LocalDate cutoff, int batchSize) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        List<DailyLogKey> chunk = cursor == null
+            ? dailyLogRepository.findKeysBefore(cutoff, page)
+            : dailyLogRepository.findKeysBeforeAfter(cutoff, cursor.date(), cursor.id(), page);
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+
+        List<UUID> ids = chunk.stream().map(DailyLogKey::id).toList();
+        int meals = mealRepository.deleteByDailyLogIdIn(ids);
+        int logs = dailyLogRepository.deleteByIdIn(ids);
+
+        deletedMeals.increment(meals);
+        deletedLogs.increment(logs);
+        batches.increment();
+        long total = runDeletedLogs.addAndGet(logs);
+        logger.debug("Retention batch up to {} deleted {} daily logs and {} meals ({} so far)",
+            chunk.get(chunk.size() - 1).date(), logs, meals, total);
+        return chunk;
+    }
+
+    private boolean pause(Duration pause) {
+        if (pause == null || pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Retention purge interrupted, stopping after {} daily logs", runDeletedLogs.get());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodDto;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.dto.NutrientVector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FoodCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodCacheInvalidator.class);
+
+    public static final String FOOD_CACHE_NAME = "foodCache";
+
+    private final CacheManager cacheManager;
+    private final FoodSearchCache searchCache;
+    private final NutrientVectorCache nutrientVectors;
+    private final FoodCatalogReplica catalogReplica;
+    private final Counter patched;
+    private final Counter evicted;
+
+    public FoodCacheInvalidator(
+        CacheManager cacheManager,
+        FoodSearchCache searchCache,
+        NutrientVectorCache nutrientVectors,
+        FoodCatalogReplica catalogReplica,
+        MeterRegistry meterRegistry
+    ) {
+        this.cacheManager = cacheManager;
+        this.searchCache = searchCache;
+        this.nutrientVectors = nutrientVectors;
+        this.catalogReplica = catalogReplica;
+        this.patched = meterRegistry.counter("fitnessapp.food.cache.invalidation", "action", "patched");
+        this.evicted = meterRegistry.counter("fitnessapp.food.cache.invalidation", "action", "evicted");
+    }
+
+    public void foodCreated(FoodDto created) {
+        invalidate(false, null, created);
+        catalogReplica.markStale();
+        catalogReplica.requestSync();
+    }
+
+    public FoodDto cachedFood(Long id) {
+        Cache foodCache = cacheManager.getCache(FOOD_CACHE_NAME);
+        return foodCache != null ? foodCache.get(id, FoodDto.class) : null;
+    }
+
+    public void foodUpdated(Long id, FoodDto previous, FoodDto updated) {
+        Cache foodCache = cacheManager.getCache(FOOD_CACHE_NAME);
+        if (foodCache != null) {
+            foodCache.evict(id);
+        }
+        invalidate(true, previous != null ? previous.name() : null, updated);
+        catalogReplica.markStale();
+        catalogReplica.requestSync();
+    }
+
+    private void invalidate(boolean update, String previousName, FoodDto current) {
+        String oldName = previousName != null ? FoodNameNormalizer.normalize(previousName) : null;
+        String newName = FoodNameNormalizer.normalize(current.name());
+        ConcurrentMap<Object, Object> searches = searchEntries();
+        String catalogId = oldName != null ? catalogId(oldName, searches) : null;
+
+        if (catalogId != null) {
+            evictVector(catalogId);
+        }
+        if (oldName != null) {
+            nutrientVectors.evictByName(oldName);
+        }
+        nutrientVectors.evictByName(newName);
+        searchCache.evictNegativeMatching(newName);
+
+        if (searches == null || (update && oldName == null)) {
+            Cache cache = cacheManager.getCache(FoodSearchCache.CACHE_NAME);
+            if (cache != null) {
+                cache.clear();
+            }
+            logger.debug("Cannot locate cached search entries for food {}, cleared the search cache", current.name());
+            return;
+        }
+        FoodSearchResponse.FoodSearchItem item = new FoodSearchResponse.FoodSearchItem(
+            catalogId, current.name(), current.servingSize(), current.calories()
+        );
+        for (Map.Entry<Object, Object> entry : searches.entrySet()) {
+            if (!(entry.getKey() instanceof String query) || !(entry.getValue() instanceof FoodSearchResult result)) {
+                continue;
+            }
+            int index = indexOf(result, catalogId);
+            boolean matchesNew = newName.contains(query);
+            if (index < 0 && !matchesNew) {
+                continue;
+            }
+            FoodSearchResult replacement = patch(result, index, item, matchesNew);
+            boolean changed = replacement == null
+                ? searches.remove(query, result)
+                : searches.replace(query, result, replacement);
+            if (changed) {
+                (replacement == null ? evicted : patched).increment();
+                logger.debug("Search entry '{}' {} after change to food {}", query, replacement == null ? "evicted" : "patched", catalogId);
+            }
+        }
+    }
+
+    private String catalogId(String name, ConcurrentMap<Object, Object> searches) {
+        NutrientVector vector = nutrientVectors.peekByName(name);
+        if (vector != null) {
+            return vector.foodItemId().toString();
+        }
+        Optional<String> replicated = catalogReplica.findIdByName(name);
+        if (replicated.isPresent()) {
+            return replicated.get();
+        }
+        if (searches != null) {
+            for (Object value : searches.values()) {
+                if (!(value instanceof FoodSearchResult result)) {
+                    continue;
+                }
+                for (FoodSearchResponse.FoodSearchItem food : result.foods()) {
+                    if (food.id() != null && food.name() != null && name.equals(FoodNameNormalizer.normalize(food.name()))) {
+                        return food.id();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static FoodSearchResult patch(
+        FoodSearchResult result,
+        int index,
+        FoodSearchResponse.FoodSearchItem item,
+        boolean matchesNew
+    ) {
+        List<FoodSearchResponse.FoodSearchItem> foods = new ArrayList<>(result.foods());
+        if (index >= 0 && matchesNew) {
+            foods.set(index, item);
+        } else if (index >= 0 && result.complete()) {
+            foods.remove(index);
+        } else if (index < 0 && result.complete() && item.id() != null) {
+            foods.add(item);
+        } else {
+            return null;
+        }
+        return new FoodSearchResult(List.copyOf(foods), result.complete());
+    }
+
+    private static int indexOf(FoodSearchResult result, String id) {
+        if (id == null) {
+            return -1;
+        }
+        for (int i = 0; i < result.foods().size(); i++) {
+            if (Objects.equals(id, result.foods().get(i).id())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void evictVector(String catalogId) {
+        try {
+            nutrientVectors.evictById(UUID.fromString(catalogId));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Catalog ID {} is not a UUID, skipped nutrient vector eviction", catalogId);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> searchEntries() {
+        Cache cache = cacheManager.getCache(FoodSearchCache.CACHE_NAME);
+        Object nativeCache = cache != null ? cache.getNativeCache() : null;
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (ConcurrentMap<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof ConcurrentMap<?, ?> map) {
+            return (ConcurrentMap<Object, Object>) map;
+        }
+        return null;
+    }
+}
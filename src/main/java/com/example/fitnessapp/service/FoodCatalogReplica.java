@@ -0,0 +1,262 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.client.ResilientFoodClient;
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.MicroserviceFoodPageResponse;
+import com.example.fitnessapp.dto.NutrientVector;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FoodCatalogReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodCatalogReplica.class);
+
+    private final ResilientFoodClient foodClient;
+    private final NutrientVectorCache nutrientVectors;
+    private final FoodPopularity popularity;
+    private final FitnessAppProperties.Microservice.Food.Catalog catalog;
+    private final Object syncLock = new Object();
+    private final ExecutorService backgroundSync = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("food-catalog-sync-"));
+    private final AtomicBoolean backgroundSyncPending = new AtomicBoolean();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public FoodCatalogReplica(
+        ResilientFoodClient foodClient,
+        NutrientVectorCache nutrientVectors,
+        FoodPopularity popularity,
+        FitnessAppProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.foodClient = foodClient;
+        this.nutrientVectors = nutrientVectors;
+        this.popularity = popularity;
+        this.catalog = properties.getMicroservice().getFood().getCatalog();
+        meterRegistry.gauge("fitnessapp.food.catalog.size", this, replica -> replica.snapshot.foods().size());
+        meterRegistry.gauge("fitnessapp.food.catalog.age.seconds", this, FoodCatalogReplica::ageSeconds);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${fitnessapp.microservice.food.catalog.sync-interval:PT5M}",
+        initialDelayString = "${fitnessapp.microservice.food.catalog.initial-delay:PT10S}"
+    )
+    public void scheduledSync() {
+        if (!catalog.isEnabled()) {
+            return;
+        }
+        try {
+            sync();
+        } catch (Exception e) {
+            logger.warn("Food catalog sync failed, replica is {}s old: {}", (long) ageSeconds(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backgroundSync.shutdownNow();
+    }
+
+    public void sync() {
+        synchronized (syncLock) {
+            Snapshot current = snapshot;
+            Instant now = Instant.now();
+            if (current.lastFullSync() == null
+                || Duration.between(current.lastFullSync(), now).compareTo(catalog.getFullSyncInterval()) >= 0) {
+                fullSync(now);
+            } else {
+                incrementalSync(current, now);
+            }
+        }
+    }
+
+    public void requestSync() {
+        if (!catalog.isEnabled() || !backgroundSyncPending.compareAndSet(false, true)) {
+            return;
+        }
+        backgroundSync.execute(() -> {
+            try {
+                sync();
+            } catch (Exception e) {
+                logger.warn("Requested food catalog sync failed, replica is {}s old: {}", (long) ageSeconds(), e.getMessage());
+            } finally {
+                backgroundSyncPending.set(false);
+            }
+        });
+    }
+
+    public void markStale() {
+        Snapshot current = snapshot;
+        if (current.syncedAt() != null) {
+            snapshot = current.withSyncedAt(null);
+        }
+    }
+
+    public boolean isFresh() {
+        Instant syncedAt = snapshot.syncedAt();
+        return syncedAt != null && Duration.between(syncedAt, Instant.now()).compareTo(catalog.getMaxStaleness()) <= 0;
+    }
+
+    public Instant syncedAt() {
+        return snapshot.syncedAt();
+    }
+
+    public Optional<List<FoodSearchResponse.FoodSearchItem>> allFoods() {
+        return isFresh() ? Optional.of(snapshot.foods()) : Optional.empty();
+    }
+
+    public Optional<List<FoodSearchResponse.FoodSearchItem>> lastFoods() {
+        Snapshot current = snapshot;
+        return current.lastFullSync() != null ? Optional.of(current.foods()) : Optional.empty();
+    }
+
+    public Instant lastSyncedAt() {
+        Snapshot current = snapshot;
+        return current.syncedAt() != null ? current.syncedAt() : current.lastFullSync();
+    }
+
+    public Optional<List<FoodSearchResponse.FoodSearchItem>> search(String name, int limit) {
+        if (!isFresh()) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.index().search(name, limit));
+    }
+
+    public Optional<String> findIdByName(String name) {
+        String normalized = FoodNameNormalizer.normalize(name);
+        return snapshot.foods().stream()
+            .filter(food -> food.name() != null && normalized.equals(FoodNameNormalizer.normalize(food.name())))
+            .map(FoodSearchResponse.FoodSearchItem::id)
+            .findFirst();
+    }
+
+    private void fullSync(Instant now) {
+        Map<String, MicroserviceFoodPageResponse.MicroserviceFoodItem> items = new HashMap<>();
+        int page = 0;
+        int totalPages;
+        do {
+            MicroserviceFoodPageResponse response = foodClient.listFoods(page, catalog.getPageSize(), "id,asc");
+            if (response == null || response.content() == null) {
+                throw new IllegalStateException("Food catalog page " + page + " returned no content during full sync");
+            }
+            response.content().stream()
+                .filter(item -> item.id() != null)
+                .forEach(item -> items.put(item.id(), item));
+            totalPages = response.totalPages();
+            page++;
+        } while (page < totalPages);
+        publish(items, now, now);
+        logger.info("Food catalog full sync: {} foods in {} pages", items.size(), page);
+    }
+
+    private void incrementalSync(Snapshot current, Instant now) {
+        Map<String, MicroserviceFoodPageResponse.MicroserviceFoodItem> changed = new HashMap<>();
+        int page = 0;
+        boolean reachedWatermark = false;
+        while (!reachedWatermark) {
+            MicroserviceFoodPageResponse response = foodClient.listFoods(page, catalog.getPageSize(), "updatedAt,desc");
+            if (response == null || response.content() == null || response.content().isEmpty()) {
+                break;
+            }
+            for (MicroserviceFoodPageResponse.MicroserviceFoodItem item : response.content()) {
+                LocalDateTime updatedAt = parseTimestamp(item.updatedAt());
+                if (updatedAt != null && current.watermark() != null && updatedAt.isBefore(current.watermark())) {
+                    reachedWatermark = true;
+                    break;
+                }
+                if (item.id() != null) {
+                    changed.put(item.id(), item);
+                }
+            }
+            page++;
+            if (response.last() || page >= response.totalPages()) {
+                break;
+            }
+        }
+        if (changed.isEmpty()) {
+            snapshot = current.withSyncedAt(now);
+            return;
+        }
+        Map<String, MicroserviceFoodPageResponse.MicroserviceFoodItem> merged = new HashMap<>(current.byId());
+        merged.putAll(changed);
+        publish(merged, current.lastFullSync(), now);
+        logger.info("Food catalog incremental sync: {} changed foods", changed.size());
+    }
+
+    private void publish(
+        Map<String, MicroserviceFoodPageResponse.MicroserviceFoodItem> byId,
+        Instant lastFullSync,
+        Instant syncedAt
+    ) {
+        List<MicroserviceFoodPageResponse.MicroserviceFoodItem> sorted = new ArrayList<>(byId.values());
+        sorted.sort(Comparator.comparing(item -> item.name() != null ? item.name() : "", String.CASE_INSENSITIVE_ORDER));
+        List<FoodSearchResponse.FoodSearchItem> foods = new ArrayList<>(sorted.size());
+        LocalDateTime watermark = null;
+        for (MicroserviceFoodPageResponse.MicroserviceFoodItem item : sorted) {
+            foods.add(FoodSearchResponse.FoodSearchItem.from(item));
+            nutrientVectors.put(NutrientVector.of(item));
+            LocalDateTime updatedAt = parseTimestamp(item.updatedAt());
+            if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+                watermark = updatedAt;
+            }
+        }
+        FoodSearchIndex index = FoodSearchIndex.build(foods, popularity.snapshot());
+        snapshot = new Snapshot(Map.copyOf(byId), List.copyOf(foods), index, watermark, lastFullSync, syncedAt);
+        logger.debug("Food search index rebuilt: {} foods, ~{} KiB", index.size(), index.estimatedBytes() / 1024);
+    }
+
+    private double ageSeconds() {
+        Instant syncedAt = snapshot.syncedAt();
+        return syncedAt != null ? Duration.between(syncedAt, Instant.now()).toSeconds() : Double.NaN;
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private record Snapshot(
+        Map<String, MicroserviceFoodPageResponse.MicroserviceFoodItem> byId,
+        List<FoodSearchResponse.FoodSearchItem> foods,
+        FoodSearchIndex index,
+        LocalDateTime watermark,
+        Instant lastFullSync,
+        Instant syncedAt
+    ) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), List.of(), FoodSearchIndex.EMPTY, null, null, null);
+
+        Snapshot withSyncedAt(Instant syncedAt) {
+            return new Snapshot(byId, foods, index, watermark, lastFullSync, syncedAt);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.fitnessapp.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+public final class FoodNameNormalizer {
+
+    private FoodNameNormalizer() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String value = Normalizer.isNormalized(name, Normalizer.Form.NFKC)
+            ? name
+            : Normalizer.normalize(name, Normalizer.Form.NFKC);
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodNameCount;
+import com.example.fitnessapp.repository.MealRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FoodPopularity {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodPopularity.class);
+
+    private static final int SEED_SIZE = 10_000;
+
+    private final MealRepository mealRepository;
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    public FoodPopularity(MealRepository mealRepository) {
+        this.mealRepository = mealRepository;
+    }
+
+    public void record(String foodName) {
+        String key = FoodNameNormalizer.normalize(foodName);
+        if (!key.isEmpty()) {
+            counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        seedIfNeeded();
+        Map<String, Long> snapshot = new HashMap<>(counts.size() * 2);
+        counts.forEach((name, count) -> snapshot.put(name, count.sum()));
+        return snapshot;
+    }
+
+    public List<String> top(int limit) {
+        return snapshot().entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    private void seedIfNeeded() {
+        if (seeded) {
+            return;
+        }
+        synchronized (this) {
+            if (seeded) {
+                return;
+            }
+            try {
+                for (FoodNameCount row : mealRepository.countByFoodName(PageRequest.of(0, SEED_SIZE))) {
+                    String key = FoodNameNormalizer.normalize(row.foodName());
+                    if (!key.isEmpty() && row.count() != null) {
+                        counts.computeIfAbsent(key, k -> new LongAdder()).add(row.count());
+                    }
+                }
+                seeded = true;
+                logger.info("Seeded food popularity from {} distinct meal food names", counts.size());
+            } catch (Exception e) {
+                logger.warn("Failed to seed food popularity: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FoodRequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodRequestCoalescer.class);
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public FoodRequestCoalescer(FitnessAppProperties properties, MeterRegistry meterRegistry) {
+        this.timeout = properties.getMicroservice().getFood().getCoalesceTimeout();
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("fitnessapp.food.coalescer.in.flight", inFlight, Map::size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Supplier<T> call) {
+        String flightKey = operation + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(operation, "coalesced").increment();
+            return (T) await(operation, flightKey, existing);
+        }
+
+        counter(operation, "issued").increment();
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(String operation, String flightKey, CompletableFuture<Object> flight) {
+        try {
+            return flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            counter(operation, "timeout").increment();
+            logger.warn("Timed out after {} waiting for in-flight food lookup {}", timeout, flightKey);
+            throw new FoodServiceUnavailableException("Timed out waiting for food service lookup", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FoodServiceUnavailableException("Interrupted waiting for food service lookup", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder("fitnessapp.food.coalescer.calls")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FoodSearchCache {
+
+    public static final String CACHE_NAME = "foodSearchCache";
+
+    private static final int MIN_DERIVATION_PREFIX = 2;
+
+    private final CacheManager cacheManager;
+    private final Cache<String, Boolean> emptyResults;
+    private final Cache<String, String> failedLookups;
+    private final Counter positiveHits;
+    private final Counter negativeHits;
+    private final Counter derivedHits;
+    private final Counter misses;
+
+    public FoodSearchCache(CacheManager cacheManager, FitnessAppProperties properties, MeterRegistry meterRegistry) {
+        FitnessAppProperties.Cache cache = properties.getCache();
+        this.cacheManager = cacheManager;
+        this.emptyResults = Caffeine.newBuilder()
+            .maximumSize(cache.getSearchNegativeMaximumSize())
+            .expireAfterWrite(cache.getSearchNegativeTtl())
+            .build();
+        this.failedLookups = Caffeine.newBuilder()
+            .maximumSize(cache.getSearchNegativeMaximumSize())
+            .expireAfterWrite(cache.getSearchErrorTtl())
+            .build();
+        this.positiveHits = meterRegistry.counter("fitnessapp.food.search.cache", "result", "positive");
+        this.negativeHits = meterRegistry.counter("fitnessapp.food.search.cache", "result", "negative");
+        this.derivedHits = meterRegistry.counter("fitnessapp.food.search.cache", "result", "derived");
+        this.misses = meterRegistry.counter("fitnessapp.food.search.cache", "result", "miss");
+    }
+
+    public Optional<List<FoodSearchResponse.FoodSearchItem>> find(String key) {
+        FoodSearchResult cached = positive().get(key, FoodSearchResult.class);
+        if (cached != null) {
+            (cached.foods().isEmpty() ? negativeHits : positiveHits).increment();
+            return Optional.of(cached.foods());
+        }
+        if (emptyResults.getIfPresent(key) != null) {
+            negativeHits.increment();
+            return Optional.of(List.of());
+        }
+        String failure = failedLookups.getIfPresent(key);
+        if (failure != null) {
+            negativeHits.increment();
+            throw new FoodServiceUnavailableException("Food search failed recently: " + failure, null);
+        }
+        Optional<List<FoodSearchResponse.FoodSearchItem>> derived = deriveFromPrefix(key);
+        (derived.isPresent() ? derivedHits : misses).increment();
+        return derived;
+    }
+
+    public void put(String key, FoodSearchResult result) {
+        failedLookups.invalidate(key);
+        if (result.foods().isEmpty()) {
+            emptyResults.put(key, Boolean.TRUE);
+        } else {
+            positive().put(key, result);
+        }
+    }
+
+    public void putFailure(String key, Exception failure) {
+        failedLookups.put(key, String.valueOf(failure.getMessage()));
+    }
+
+    public void evictNegativeMatching(String normalizedName) {
+        emptyResults.asMap().keySet().removeIf(normalizedName::contains);
+    }
+
+    private Optional<List<FoodSearchResponse.FoodSearchItem>> deriveFromPrefix(String key) {
+        for (int length = key.length() - 1; length >= MIN_DERIVATION_PREFIX; length--) {
+            String prefix = key.substring(0, length);
+            if (emptyResults.getIfPresent(prefix) != null) {
+                return Optional.of(List.of());
+            }
+            FoodSearchResult cached = positive().get(prefix, FoodSearchResult.class);
+            if (cached != null && cached.complete()) {
+                return Optional.of(cached.foods().stream()
+                    .filter(food -> FoodNameNormalizer.normalize(food.name()).contains(key))
+                    .toList());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private org.springframework.cache.Cache positive() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+}
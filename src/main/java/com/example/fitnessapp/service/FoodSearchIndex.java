@@ -0,0 +1,268 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+public final class FoodSearchIndex {
+
+    public static final FoodSearchIndex EMPTY = build(List.of(), Map.of());
+
+    private static final double MIN_SIMILARITY = 0.35;
+    private static final int SHORT_PREFIX_LENGTH = 2;
+    private static final int SHORT_PREFIX_TOP = 50;
+    private static final int MAX_PREFIX_SCAN = 10_000;
+
+    private final FoodSearchResponse.FoodSearchItem[] foods;
+    private final String[] names;
+    private final long[] popularity;
+    private final String[] tokens;
+    private final int[] tokenFoods;
+    private final Map<Long, int[]> trigramPostings;
+    private final int[] trigramCounts;
+    private final Map<String, int[]> shortPrefixTop;
+
+    private FoodSearchIndex(
+        FoodSearchResponse.FoodSearchItem[] foods,
+        String[] names,
+        long[] popularity,
+        String[] tokens,
+        int[] tokenFoods,
+        Map<Long, int[]> trigramPostings,
+        int[] trigramCounts,
+        Map<String, int[]> shortPrefixTop
+    ) {
+        this.foods = foods;
+        this.names = names;
+        this.popularity = popularity;
+        this.tokens = tokens;
+        this.tokenFoods = tokenFoods;
+        this.trigramPostings = trigramPostings;
+        this.trigramCounts = trigramCounts;
+        this.shortPrefixTop = shortPrefixTop;
+    }
+
+    public static FoodSearchIndex build(List<FoodSearchResponse.FoodSearchItem> items, Map<String, Long> popularityByName) {
+        int n = items.size();
+        FoodSearchResponse.FoodSearchItem[] foods = items.toArray(new FoodSearchResponse.FoodSearchItem[0]);
+        String[] names = new String[n];
+        long[] popularity = new long[n];
+        List<TokenEntry> tokenEntries = new ArrayList<>(n * 2);
+        Map<Long, List<Integer>> postings = new HashMap<>();
+        int[] trigramCounts = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            String name = FoodNameNormalizer.normalize(foods[i].name());
+            names[i] = name;
+            popularity[i] = popularityByName.getOrDefault(name, 0L);
+            for (String token : name.split(" ")) {
+                if (!token.isEmpty()) {
+                    tokenEntries.add(new TokenEntry(token, i));
+                }
+            }
+            Set<Long> grams = trigrams(name);
+            trigramCounts[i] = grams.size();
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        tokenEntries.sort(Comparator.comparing(TokenEntry::token));
+        String[] tokens = new String[tokenEntries.size()];
+        int[] tokenFoods = new int[tokenEntries.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokenEntries.get(i).token();
+            tokenFoods[i] = tokenEntries.get(i).food();
+        }
+
+        Map<Long, int[]> trigramPostings = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, list) -> trigramPostings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        Map<String, PriorityQueue<Candidate>> shortPrefixes = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Set<String> prefixes = new HashSet<>();
+            for (String token : names[i].split(" ")) {
+                for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, token.length()); length++) {
+                    prefixes.add(token.substring(0, length));
+                }
+            }
+            for (String prefix : prefixes) {
+                int bucket = names[i].startsWith(prefix) ? 0 : 1;
+                PriorityQueue<Candidate> top = shortPrefixes.computeIfAbsent(
+                    prefix,
+                    key -> new PriorityQueue<>(SHORT_PREFIX_TOP + 1, Candidate.WORST_FIRST)
+                );
+                offer(top, new Candidate(i, bucket, 1.0, popularity[i], names[i].length()), SHORT_PREFIX_TOP);
+            }
+        }
+        Map<String, int[]> shortPrefixTop = new HashMap<>(shortPrefixes.size() * 2);
+        shortPrefixes.forEach((prefix, top) -> shortPrefixTop.put(prefix, ordered(top).stream().mapToInt(Candidate::food).toArray()));
+
+        return new FoodSearchIndex(foods, names, popularity, tokens, tokenFoods, trigramPostings, trigramCounts, shortPrefixTop);
+    }
+
+    public static List<FoodSearchResponse.FoodSearchItem> rank(
+        List<FoodSearchResponse.FoodSearchItem> items,
+        String query,
+        int limit
+    ) {
+        List<FoodSearchResponse.FoodSearchItem> ranked = new ArrayList<>(build(items, Map.of()).search(query, limit));
+        for (int i = 0; i < items.size() && ranked.size() < limit; i++) {
+            if (!ranked.contains(items.get(i))) {
+                ranked.add(items.get(i));
+            }
+        }
+        return ranked;
+    }
+
+    public List<FoodSearchResponse.FoodSearchItem> search(String query, int limit) {
+        String normalized = FoodNameNormalizer.normalize(query);
+        if (normalized.isEmpty() || limit <= 0 || foods.length == 0) {
+            return List.of();
+        }
+        String[] words = normalized.split(" ");
+        String last = words[words.length - 1];
+        if (words.length == 1 && last.length() <= SHORT_PREFIX_LENGTH && limit <= SHORT_PREFIX_TOP) {
+            int[] top = shortPrefixTop.getOrDefault(last, new int[0]);
+            List<FoodSearchResponse.FoodSearchItem> results = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                results.add(foods[top[i]]);
+            }
+            return results;
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, Candidate.WORST_FIRST);
+        Set<Integer> seen = new HashSet<>();
+        int from = lowerBound(last);
+        int end = (int) Math.min(tokens.length, (long) from + MAX_PREFIX_SCAN);
+        for (int t = from; t < end && tokens[t].startsWith(last); t++) {
+            int food = tokenFoods[t];
+            if (!seen.add(food) || !containsWordPrefixes(names[food], words)) {
+                continue;
+            }
+            int bucket = names[food].startsWith(normalized) ? 0 : 1;
+            offer(best, new Candidate(food, bucket, 1.0, popularity[food], names[food].length()), limit);
+        }
+
+        if (best.size() < limit && normalized.length() >= 3) {
+            fuzzyMatches(normalized, seen, best, limit);
+        }
+
+        List<FoodSearchResponse.FoodSearchItem> results = new ArrayList<>(best.size());
+        for (Candidate candidate : ordered(best)) {
+            results.add(foods[candidate.food()]);
+        }
+        return results;
+    }
+
+    public int size() {
+        return foods.length;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 16L * 8;
+        bytes += 16 + 4L * foods.length + 32L * foods.length;
+        for (String name : names) {
+            bytes += 40 + name.length();
+        }
+        bytes += 16 + 8L * popularity.length;
+        bytes += 16 + 4L * tokens.length + 16 + 4L * tokenFoods.length;
+        for (String token : tokens) {
+            bytes += 40 + token.length();
+        }
+        for (int[] posting : trigramPostings.values()) {
+            bytes += 32 + 24 + 16 + 4L * posting.length;
+        }
+        bytes += 16 + 4L * trigramCounts.length;
+        for (Map.Entry<String, int[]> entry : shortPrefixTop.entrySet()) {
+            bytes += 32 + 40 + entry.getKey().length() + 16 + 4L * entry.getValue().length;
+        }
+        return bytes;
+    }
+
+    private void fuzzyMatches(String query, Set<Integer> seen, PriorityQueue<Candidate> best, int limit) {
+        Set<Long> queryGrams = trigrams(query);
+        Map<Integer, Integer> overlaps = new HashMap<>();
+        for (Long gram : queryGrams) {
+            int[] posting = trigramPostings.get(gram);
+            if (posting == null) {
+                continue;
+            }
+            for (int food : posting) {
+                if (!seen.contains(food)) {
+                    overlaps.merge(food, 1, Integer::sum);
+                }
+            }
+        }
+        overlaps.forEach((food, overlap) -> {
+            double similarity = 2.0 * overlap / (queryGrams.size() + trigramCounts[food]);
+            if (similarity >= MIN_SIMILARITY) {
+                offer(best, new Candidate(food, 2, similarity, popularity[food], names[food].length()), limit);
+            }
+        });
+    }
+
+    private static void offer(PriorityQueue<Candidate> best, Candidate candidate, int limit) {
+        if (best.size() < limit) {
+            best.add(candidate);
+        } else if (Candidate.WORST_FIRST.compare(candidate, best.peek()) > 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    private static List<Candidate> ordered(PriorityQueue<Candidate> best) {
+        List<Candidate> ordered = new ArrayList<>(best);
+        ordered.sort(Collections.reverseOrder(Candidate.WORST_FIRST));
+        return ordered;
+    }
+
+    private static boolean containsWordPrefixes(String name, String[] words) {
+        for (int i = 0; i < words.length - 1; i++) {
+            if (!name.startsWith(words[i] + " ") && !name.contains(" " + words[i] + " ")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = tokens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Set<Long> trigrams(String value) {
+        String padded = " " + value + " ";
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private record TokenEntry(String token, int food) {}
+
+    private record Candidate(int food, int bucket, double similarity, long popularity, int length) {
+        static final Comparator<Candidate> WORST_FIRST = Comparator
+            .comparingInt(Candidate::bucket).reversed()
+            .thenComparingDouble(Candidate::similarity)
+            .thenComparingLong(Candidate::popularity)
+            .thenComparing(Comparator.comparingInt(Candidate::length).reversed());
+    }
+}
@@ -1,22 +1,42 @@
 package com.example.fitnessapp.service;
 
-import com.example.fitnessapp.client.FoodMicroserviceClient;
+import com.example.fitnessapp.client.ResilientFoodClient;
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.BatchFoodCalculationResponse;
+import com.example.fitnessapp.dto.FoodCalculationRequest;
 import com.example.fitnessapp.dto.FoodCalculationResponse;
 import com.example.fitnessapp.dto.FoodDto;
 import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
 import com.example.fitnessapp.dto.MicroserviceFoodPageResponse;
+import com.example.fitnessapp.dto.NutrientVector;
 import com.example.fitnessapp.dto.NutritionCalculationRequest;
 import com.example.fitnessapp.dto.NutritionCalculationResponse;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 
 @Service
@@ -24,151 +44,389 @@ public class FoodService {
 
     private static final Logger logger = LoggerFactory.getLogger(FoodService.class);
 
-    private final FoodMicroserviceClient foodClient;
+    private final ResilientFoodClient foodClient;
+    private final NutrientVectorCache nutrientVectors;
+    private final FoodRequestCoalescer coalescer;
+    private final FoodSearchCache searchCache;
+    private final FoodCacheInvalidator cacheInvalidator;
+    private final ServingSizeParser servingSizeParser;
+    private final double verifySampleRate;
+    private final ExecutorService batchExecutor;
+    private final Duration batchTimeout;
 
-    public FoodService(FoodMicroserviceClient foodClient) {
+    public FoodService(
+        ResilientFoodClient foodClient,
+        NutrientVectorCache nutrientVectors,
+        FoodRequestCoalescer coalescer,
+        FoodSearchCache searchCache,
+        FoodCacheInvalidator cacheInvalidator,
+        ServingSizeParser servingSizeParser,
+        FitnessAppProperties properties
+    ) {
         this.foodClient = foodClient;
+        this.nutrientVectors = nutrientVectors;
+        this.coalescer = coalescer;
+        this.searchCache = searchCache;
+        this.cacheInvalidator = cacheInvalidator;
+        this.servingSizeParser = servingSizeParser;
+        this.verifySampleRate = properties.getMicroservice().getFood().getNutrientVerifySampleRate();
+        int parallelism = Math.max(1, properties.getMicroservice().getFood().getBatchParallelism());
+        this.batchExecutor = new ThreadPoolExecutor(
+            parallelism, parallelism,
+            60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getMicroservice().getFood().getBatchQueueCapacity())),
+            new CustomizableThreadFactory("food-batch-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.batchTimeout = properties.getMicroservice().getFood().getBatchTimeout();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
     }
 
     public FoodCalculationResponse calculateCalories(String foodName, String servingSize, Double portions) {
         logger.info("Calculating calories for food: {}, serving size: {}, portions: {}", foodName, servingSize, portions);
         try {
-            MicroserviceFoodPageResponse searchResponse = foodClient.searchFoods(foodName);
-            if (searchResponse == null || searchResponse.content() == null || searchResponse.content().isEmpty()) {
-                throw new RuntimeException("Food not found: " + foodName);
-            }
-            
-            MicroserviceFoodPageResponse.MicroserviceFoodItem foodItem = searchResponse.content().stream()
-                .filter(item -> item.name().equalsIgnoreCase(foodName))
-                .findFirst()
-                .orElse(searchResponse.content().get(0));
-            
-            UUID foodItemId = UUID.fromString(foodItem.id());
-            
-            BigDecimal portionInGrams = parseServingSizeToGrams(servingSize);
-            
-            if (portions != null && portions > 0) {
-                portionInGrams = portionInGrams.multiply(BigDecimal.valueOf(portions));
-            }
-            
-            NutritionCalculationRequest request = new NutritionCalculationRequest(foodItemId, portionInGrams);
-            
-            NutritionCalculationResponse microserviceResponse = foodClient.calculateCalories(request);
-            
-            NutritionCalculationResponse.NutritionTotals totals = microserviceResponse.totals();
-            FoodCalculationResponse response = new FoodCalculationResponse(
-                foodName,
-                servingSize,
-                portions,
-                totals.calories(),
-                totals.protein() != null ? totals.protein().floatValue() : null,
-                totals.carbs() != null ? totals.carbs().floatValue() : null,
-                totals.fat() != null ? totals.fat().floatValue() : null
-            );
+            NutrientVector vector = nutrientVectors.findByName(foodName);
+            FoodCalculationResponse response = vector != null
+                ? calculateLocally(vector, foodName, servingSize, portions)
+                : coalescedCalculation(foodName, servingSize, portions);
             logger.info("Calories calculated successfully: {} calories", response.calories());
             return response;
+        } catch (FoodServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to calculate calories from microservice for food: {}", foodName, e);
             throw new RuntimeException("Failed to calculate calories from microservice: " + e.getMessage(), e);
         }
     }
-    
-    private BigDecimal parseServingSizeToGrams(String servingSize) {
-        if (servingSize == null || servingSize.trim().isEmpty()) {
-            return BigDecimal.valueOf(100);
+
+    public Optional<FoodCalculationResponse> calculateCaloriesLocally(String foodName, String servingSize, Double portions) {
+        NutrientVector vector = nutrientVectors.findByName(foodName);
+        return vector != null
+            ? Optional.of(calculateLocally(vector, foodName, servingSize, portions))
+            : Optional.empty();
+    }
+
+    public BatchFoodCalculationResponse calculateCaloriesBatch(List<FoodCalculationRequest> items) {
+        logger.info("Calculating calories for a batch of {} items", items.size());
+        Map<String, CompletableFuture<UUID>> foodIds = new HashMap<>();
+        Map<FoodCalculationRequest, CompletableFuture<FoodCalculationResponse>> calculations = new HashMap<>();
+        List<CompletableFuture<FoodCalculationResponse>> pending = new ArrayList<>(items.size());
+
+        for (FoodCalculationRequest item : items) {
+            if (item == null || isBlank(item.foodName()) || isBlank(item.servingSize())) {
+                pending.add(CompletableFuture.failedFuture(new IllegalArgumentException("Food name and serving size are required")));
+                continue;
+            }
+            String foodName = item.foodName().trim();
+            String servingSize = item.servingSize().trim();
+            String nameKey = FoodNameNormalizer.normalize(foodName);
+            NutrientVector vector = nutrientVectors.findByName(foodName);
+            if (vector != null) {
+                pending.add(calculations.computeIfAbsent(
+                    new FoodCalculationRequest(nameKey, servingSize, item.portions()),
+                    key -> CompletableFuture.completedFuture(calculateLocally(vector, foodName, servingSize, item.portions()))
+                ));
+                continue;
+            }
+            CompletableFuture<UUID> foodId = foodIds.computeIfAbsent(nameKey, key -> submitBatchLookup(foodName));
+            pending.add(calculations.computeIfAbsent(
+                new FoodCalculationRequest(nameKey, servingSize, item.portions()),
+                key -> foodId.thenApplyAsync(id -> calculate(id, foodName, servingSize, item.portions()), batchExecutor)
+            ));
         }
-        
-        Pattern pattern = Pattern.compile("(\\d+(?:\\.\\d+)?)");
-        Matcher matcher = pattern.matcher(servingSize);
-        
-        if (matcher.find()) {
+        logger.debug("Batch resolved to {} distinct foods and {} distinct calculations", foodIds.size(), calculations.size());
+
+        List<BatchFoodCalculationResponse.Item> results = new ArrayList<>(items.size());
+        int calories = 0;
+        float protein = 0;
+        float carbs = 0;
+        float fats = 0;
+        int failed = 0;
+        boolean timedOut = false;
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        for (int i = 0; i < items.size(); i++) {
+            FoodCalculationRequest item = items.get(i);
+            String foodName = item != null ? item.foodName() : null;
+            String servingSize = item != null ? item.servingSize() : null;
+            Double portions = item != null ? item.portions() : null;
             try {
-                double value = Double.parseDouble(matcher.group(1));
-                String lower = servingSize.toLowerCase();
-                if (lower.contains("g") || lower.contains("gram")) {
-                    return BigDecimal.valueOf(value);
-                } else {
-                    return BigDecimal.valueOf(value * 100);
-                }
-            } catch (NumberFormatException e) {
+                FoodCalculationResponse calculated = pending.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                FoodCalculationResponse result = new FoodCalculationResponse(
+                    foodName, servingSize, portions,
+                    calculated.calories(), calculated.protein(), calculated.carbs(), calculated.fats()
+                );
+                calories += result.calories() != null ? result.calories() : 0;
+                protein += result.protein() != null ? result.protein() : 0;
+                carbs += result.carbs() != null ? result.carbs() : 0;
+                fats += result.fats() != null ? result.fats() : 0;
+                results.add(new BatchFoodCalculationResponse.Item(i, foodName, servingSize, portions, result, null));
+            } catch (ExecutionException | CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Batch item {} ({}) failed: {}", i, foodName, cause.getMessage());
+                results.add(new BatchFoodCalculationResponse.Item(i, foodName, servingSize, portions, null, batchErrorMessage(cause)));
+                failed++;
+            } catch (TimeoutException | CancellationException e) {
+                pending.get(i).cancel(true);
+                timedOut = true;
+                logger.warn("Batch item {} ({}) did not complete within {}", i, foodName, batchTimeout);
+                results.add(new BatchFoodCalculationResponse.Item(i, foodName, servingSize, portions, null, "Timed out after " + batchTimeout));
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new BatchFoodCalculationResponse.Item(i, foodName, servingSize, portions, null, "Interrupted"));
+                failed++;
             }
         }
-        
-        return BigDecimal.valueOf(100);
+        if (timedOut) {
+            foodIds.values().forEach(lookup -> lookup.cancel(true));
+        }
+        BatchFoodCalculationResponse.Totals totals = new BatchFoodCalculationResponse.Totals(
+            calories, protein, carbs, fats, items.size() - failed, failed
+        );
+        logger.info("Batch calculation completed: {} calories, {} succeeded, {} failed", calories, totals.succeeded(), failed);
+        return new BatchFoodCalculationResponse(results, totals);
     }
 
-    @Cacheable(value = "foodSearchCache", key = "#name")
-    public List<FoodSearchResponse.FoodSearchItem> searchFoods(String name) {
-        logger.info("Searching foods with name: {}", name);
+    private CompletableFuture<UUID> submitBatchLookup(String foodName) {
         try {
-            MicroserviceFoodPageResponse response = foodClient.searchFoods(name);
-            
-            if (response == null || response.content() == null || response.content().isEmpty()) {
-                return List.of();
-            }
-            
-            List<FoodSearchResponse.FoodSearchItem> foods = response.content().stream()
-                .map(item -> {
-                    String servingSize = item.servingSizeGrams() != null 
-                        ? item.servingSizeGrams() + "g" 
-                        : "100g";
-                    
-                    Integer calories = item.caloriesPerServing();
-                    
-                    return new FoodSearchResponse.FoodSearchItem(
-                        item.id(),
-                        item.name(),
-                        servingSize,
-                        calories
+            return CompletableFuture.supplyAsync(() -> resolveFoodItemId(foodName), batchExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static String batchErrorMessage(Throwable cause) {
+        return cause instanceof RejectedExecutionException ? "Batch calculation capacity exceeded, retry later" : cause.getMessage();
+    }
+
+    private FoodCalculationResponse coalescedCalculation(String foodName, String servingSize, Double portions) {
+        String key = FoodNameNormalizer.normalize(foodName) + "|" + FoodNameNormalizer.normalize(servingSize) + "|" + portions;
+        FoodCalculationResponse shared = coalescer.execute(
+            "calculate", key,
+            () -> calculate(resolveFoodItemId(foodName), foodName, servingSize, portions)
+        );
+        return new FoodCalculationResponse(
+            foodName, servingSize, portions,
+            shared.calories(), shared.protein(), shared.carbs(), shared.fats()
+        );
+    }
+
+    private UUID resolveFoodItemId(String foodName) {
+        MicroserviceFoodPageResponse searchResponse = foodClient.searchFoods(foodName);
+        nutrientVectors.putAll(searchResponse);
+        if (searchResponse == null || searchResponse.content() == null || searchResponse.content().isEmpty()) {
+            throw new RuntimeException("Food not found: " + foodName);
+        }
+
+        MicroserviceFoodPageResponse.MicroserviceFoodItem foodItem = searchResponse.content().stream()
+            .filter(item -> item.name().equalsIgnoreCase(foodName))
+            .findFirst()
+            .orElse(searchResponse.content().get(0));
+
+        return UUID.fromString(foodItem.id());
+    }
+
+    private FoodCalculationResponse calculate(UUID foodItemId, String foodName, String servingSize, Double portions) {
+        NutrientVector vector = nutrientVectors.findById(foodItemId);
+        if (vector != null) {
+            return calculateLocally(vector, foodName, servingSize, portions);
+        }
+        NutritionCalculationRequest request = new NutritionCalculationRequest(
+            foodItemId, portionInGrams(servingSize, portions, foodName, null)
+        );
+        return toResponse(foodClient.calculateCalories(request), foodName, servingSize, portions);
+    }
+
+    private FoodCalculationResponse calculateLocally(NutrientVector vector, String foodName, String servingSize, Double portions) {
+        BigDecimal portionInGrams = portionInGrams(servingSize, portions, vector.name(), vector.servingSizeGrams());
+        double grams = portionInGrams.doubleValue();
+        FoodCalculationResponse response = new FoodCalculationResponse(
+            foodName,
+            servingSize,
+            portions,
+            (int) Math.round(vector.caloriesPerGram() * grams),
+            (float) (vector.proteinPerGram() * grams),
+            (float) (vector.carbsPerGram() * grams),
+            (float) (vector.fatPerGram() * grams)
+        );
+        if (verifySampleRate > 0 && ThreadLocalRandom.current().nextDouble() < verifySampleRate) {
+            verifyInBackground(vector, portionInGrams, response);
+        }
+        return response;
+    }
+
+    private void verifyInBackground(NutrientVector vector, BigDecimal portionInGrams, FoodCalculationResponse local) {
+        try {
+            CompletableFuture.runAsync(() -> {
+                NutritionCalculationResponse remote = foodClient.calculateCalories(
+                    new NutritionCalculationRequest(vector.foodItemId(), portionInGrams)
+                );
+                Integer remoteCalories = remote != null && remote.totals() != null ? remote.totals().calories() : null;
+                if (remoteCalories == null) {
+                    return;
+                }
+                int tolerance = Math.max(1, (int) Math.ceil(Math.abs(remoteCalories) * 0.02));
+                if (Math.abs(remoteCalories - local.calories()) > tolerance) {
+                    logger.warn(
+                        "Local nutrient vector for {} disagrees with the food service: {} vs {} calories, evicting",
+                        vector.name(), local.calories(), remoteCalories
                     );
-                })
-                .collect(Collectors.toList());
-            
-           logger.info("Found {} foods matching: {}", foods.size(), name);
-            return foods;
-        } catch (Exception e) {
-            logger.warn("Error searching foods: {}", e.getMessage());
+                    nutrientVectors.evict(vector);
+                }
+            }, batchExecutor).exceptionally(e -> {
+                logger.debug("Nutrient vector verification for {} failed: {}", vector.name(), e.getMessage());
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Skipped nutrient vector verification for {}, the batch executor is saturated", vector.name());
+        }
+    }
+
+    private BigDecimal portionInGrams(String servingSize, Double portions, String foodName, Integer foodServingGrams) {
+        BigDecimal portionInGrams = BigDecimal.valueOf(servingSizeParser.toGrams(servingSize, foodName, foodServingGrams));
+        if (portions != null && portions > 0) {
+            portionInGrams = portionInGrams.multiply(BigDecimal.valueOf(portions));
+        }
+        return portionInGrams;
+    }
+
+    private static FoodCalculationResponse toResponse(
+        NutritionCalculationResponse microserviceResponse,
+        String foodName,
+        String servingSize,
+        Double portions
+    ) {
+        NutritionCalculationResponse.NutritionTotals totals = microserviceResponse.totals();
+        return new FoodCalculationResponse(
+            foodName,
+            servingSize,
+            portions,
+            totals.calories(),
+            totals.protein() != null ? totals.protein().floatValue() : null,
+            totals.carbs() != null ? totals.carbs().floatValue() : null,
+            totals.fat() != null ? totals.fat().floatValue() : null
+        );
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    public List<FoodSearchResponse.FoodSearchItem> searchFoods(String name) {
+        String key = FoodNameNormalizer.normalize(name);
+        if (key.isEmpty()) {
             return List.of();
         }
+        Optional<List<FoodSearchResponse.FoodSearchItem>> cached = searchCache.find(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        logger.info("Searching foods with name: {}", key);
+        try {
+            FoodSearchResult result = fetchSearchResult(key);
+            searchCache.put(key, result);
+            logger.info("Found {} foods matching: {}", result.foods().size(), key);
+            return result.foods();
+        } catch (RuntimeException e) {
+            searchCache.putFailure(key, e);
+            throw e;
+        }
+    }
+
+    public List<FoodSearchResponse.FoodSearchItem> listFoods(int limit) {
+        logger.info("Listing the first {} foods from the food service", limit);
+        MicroserviceFoodPageResponse response = coalescer.execute(
+            "list", String.valueOf(limit), () -> foodClient.listFoods(0, limit, "name,asc")
+        );
+        nutrientVectors.putAll(response);
+        if (response == null || response.content() == null) {
+            return List.of();
+        }
+        return response.content().stream().map(FoodSearchResponse.FoodSearchItem::from).toList();
+    }
+
+    public FoodSearchResult fetchSearchResult(String key) {
+        return coalescer.execute("search", key, () -> fetchSearchResultUncoalesced(key));
+    }
+
+    private FoodSearchResult fetchSearchResultUncoalesced(String key) {
+        MicroserviceFoodPageResponse response = foodClient.searchFoods(key);
+        nutrientVectors.putAll(response);
+
+        if (response == null || response.content() == null || response.content().isEmpty()) {
+            return new FoodSearchResult(List.of(), true);
+        }
+
+        List<FoodSearchResponse.FoodSearchItem> foods = response.content().stream()
+            .map(FoodSearchResponse.FoodSearchItem::from)
+            .toList();
+        return new FoodSearchResult(foods, response.last());
     }
 
     @Cacheable(value = "foodCache", key = "#id")
     public FoodDto getFoodById(Long id) {
         logger.info("Getting food by ID: {}", id);
         try {
-            FoodDto food = foodClient.getFoodById(id);
+            FoodDto food = fetchFoodById(id);
             logger.info("Food retrieved successfully: {}", food.name());
             return food;
+        } catch (FoodServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to get food from microservice with ID: {}", id, e);
             throw new RuntimeException("Failed to get food from microservice: " + e.getMessage(), e);
         }
     }
 
-     @CacheEvict(value = {"foodSearchCache", "foodCache"}, allEntries = true)
+    public FoodDto fetchFoodById(Long id) {
+        return coalescer.execute("getById", String.valueOf(id), () -> foodClient.getFoodById(id));
+    }
+
     public FoodDto createFood(FoodDto food) {
         logger.info("Creating food: {}", food.name());
         try {
             FoodDto created = foodClient.createFood(food);
+            cacheInvalidator.foodCreated(created);
             logger.info("Food created successfully with ID: {}", created.id());
             return created;
+        } catch (FoodServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to create food in microservice: {}", food.name(), e);
             throw new RuntimeException("Failed to create food in microservice: " + e.getMessage(), e);
         }
     }
 
-     @CacheEvict(value = {"foodSearchCache", "foodCache"}, allEntries = true)
     public FoodDto updateFood(Long id, FoodDto food) {
         logger.info("Updating food ID: {}, name: {}", id, food.name());
         try {
+            FoodDto previous = previousFood(id);
             FoodDto updated = foodClient.updateFood(id, food);
+            cacheInvalidator.foodUpdated(id, previous, updated);
             logger.info("Food updated successfully: {}", id);
             return updated;
+        } catch (FoodServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to update food in microservice ID: {}", id, e);
             throw new RuntimeException("Failed to update food in microservice: " + e.getMessage(), e);
         }
     }
-}
 
+    private FoodDto previousFood(Long id) {
+        FoodDto cached = cacheInvalidator.cachedFood(id);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return fetchFoodById(id);
+        } catch (Exception e) {
+            logger.warn("Could not load food ID: {} before update, search cache will be cleared: {}", id, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.ExportDailyLogRow;
+import com.example.fitnessapp.dto.ExportMealRow;
+import com.example.fitnessapp.dto.ExportProgressRow;
+import com.example.fitnessapp.dto.ExportWorkoutRow;
+import com.example.fitnessapp.dto.HistoryExportRow;
+import com.example.fitnessapp.repository.DailyLogRepository;
+import com.example.fitnessapp.repository.MealRepository;
+import com.example.fitnessapp.repository.ProgressRepository;
+import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.repository.WorkoutRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class HistoryExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryExportService.class);
+
+    static final int FLUSH_EVERY_ROWS = 1_000;
+    static final String CSV_HEADER = "record,date,time,category,name,serving_size,calories_in,calories_out,"
+        + "protein,carbs,fat,duration_minutes,weight_kg,notes";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final DailyLogRepository dailyLogRepository;
+    private final MealRepository mealRepository;
+    private final WorkoutRepository workoutRepository;
+    private final ProgressRepository progressRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public HistoryExportService(
+        DailyLogRepository dailyLogRepository,
+        MealRepository mealRepository,
+        WorkoutRepository workoutRepository,
+        ProgressRepository progressRepository,
+        UserRepository userRepository,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry
+    ) {
+        this.dailyLogRepository = dailyLogRepository;
+        this.mealRepository = mealRepository;
+        this.workoutRepository = workoutRepository;
+        this.progressRepository = progressRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Transactional(readOnly = true)
+    public void requireUser(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long export(UUID userId, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = write(format, out, objectMapper, List.of(
+            () -> dailyLogRepository.streamExportRows(userId),
+            () -> mealRepository.streamExportRows(userId),
+            () -> workoutRepository.streamExportRows(userId),
+            () -> progressRepository.streamExportRows(userId)
+        ));
+        meterRegistry.counter("fitnessapp.reports.export.rows", "format", format.extension()).increment(rows);
+        logger.info("Exported {} history rows as {} for user ID: {} in {} ms",
+            rows, format, userId, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    static long write(
+        Format format,
+        OutputStream out,
+        ObjectMapper objectMapper,
+        List<Supplier<? extends Stream<? extends HistoryExportRow>>> sources
+    ) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long rows = 0;
+        for (Supplier<? extends Stream<? extends HistoryExportRow>> source : sources) {
+            try (Stream<? extends HistoryExportRow> stream = source.get()) {
+                Iterator<? extends HistoryExportRow> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    HistoryExportRow row = iterator.next();
+                    if (format == Format.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (++rows % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    static void writeCsv(Writer writer, HistoryExportRow row) throws IOException {
+        if (row instanceof ExportDailyLogRow log) {
+            csvLine(writer, log.recordType(), log.date(), null, null, null, null,
+                log.caloriesIn(), log.caloriesOut(), null, null, null, null, null, log.notes());
+        } else if (row instanceof ExportMealRow meal) {
+            csvLine(writer, meal.recordType(), meal.date(), null, meal.mealType(), meal.foodName(), meal.servingSize(),
+                meal.calories(), null, meal.protein(), meal.carbs(), meal.fats(), null, null, null);
+        } else if (row instanceof ExportWorkoutRow workout) {
+            csvLine(writer, workout.recordType(),
+                workout.dateTime() != null ? workout.dateTime().toLocalDate() : null,
+                workout.dateTime() != null ? workout.dateTime().toLocalTime() : null,
+                workout.type(), null, null, null, workout.caloriesBurned(), null, null, null,
+                workout.durationMinutes(), null, workout.notes());
+        } else if (row instanceof ExportProgressRow progress) {
+            csvLine(writer, progress.recordType(), progress.date(), null, null, null, null,
+                null, null, null, null, null, null, progress.weightKg(), progress.notes());
+        } else {
+            throw new IllegalArgumentException("Unsupported export row: " + row.getClass().getSimpleName());
+        }
+    }
+
+    private static void csvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+            } else if (value instanceof String text) {
+                writeCsvText(writer, text);
+            } else {
+                writer.write(value.toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvText(Writer writer, String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        boolean formula = !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0;
+        if (!quote && !formula) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
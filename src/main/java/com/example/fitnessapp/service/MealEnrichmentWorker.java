@@ -0,0 +1,221 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.BatchFoodCalculationResponse;
+import com.example.fitnessapp.dto.FoodCalculationRequest;
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.EnrichmentStatus;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealEnrichmentTask;
+import com.example.fitnessapp.repository.MealEnrichmentTaskRepository;
+import com.example.fitnessapp.repository.MealRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class MealEnrichmentWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealEnrichmentWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MealEnrichmentTaskRepository taskRepository;
+    private final MealRepository mealRepository;
+    private final DailyLogService dailyLogService;
+    private final UserDailyRollupService rollupService;
+    private final FoodService foodService;
+    private final FitnessAppProperties.Enrichment enrichment;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter failed;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public MealEnrichmentWorker(
+        MealEnrichmentTaskRepository taskRepository,
+        MealRepository mealRepository,
+        DailyLogService dailyLogService,
+        UserDailyRollupService rollupService,
+        FoodService foodService,
+        FitnessAppProperties properties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.taskRepository = taskRepository;
+        this.mealRepository = mealRepository;
+        this.dailyLogService = dailyLogService;
+        this.rollupService = rollupService;
+        this.foodService = foodService;
+        this.enrichment = properties.getEnrichment();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completed = meterRegistry.counter("fitnessapp.meals.enrichment", "outcome", "completed");
+        this.retried = meterRegistry.counter("fitnessapp.meals.enrichment", "outcome", "retried");
+        this.failed = meterRegistry.counter("fitnessapp.meals.enrichment", "outcome", "failed");
+        meterRegistry.gauge("fitnessapp.meals.enrichment.backlog", backlog);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${fitnessapp.enrichment.poll-interval:PT2S}",
+        initialDelayString = "${fitnessapp.enrichment.initial-delay:PT15S}"
+    )
+    public void poll() {
+        if (!enrichment.isEnabled()) {
+            return;
+        }
+        try {
+            int processed;
+            do {
+                processed = processBatch();
+            } while (processed >= enrichment.getBatchSize());
+            backlog.set(taskRepository.count());
+        } catch (Exception e) {
+            logger.error("Meal enrichment poll failed", e);
+        }
+    }
+
+    public int processBatch() {
+        List<MealEnrichmentTask> tasks = lease();
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Meal> meals = mealRepository.findAllById(tasks.stream().map(MealEnrichmentTask::getMealId).toList())
+            .stream()
+            .collect(Collectors.toMap(Meal::getId, Function.identity()));
+
+        List<MealEnrichmentTask> work = new ArrayList<>(tasks.size());
+        List<FoodCalculationRequest> requests = new ArrayList<>(tasks.size());
+        for (MealEnrichmentTask task : tasks) {
+            Meal meal = meals.get(task.getMealId());
+            if (meal == null || meal.getEnrichmentStatus() != EnrichmentStatus.PENDING) {
+                transactionTemplate.executeWithoutResult(status -> taskRepository.deleteById(task.getId()));
+                continue;
+            }
+            work.add(task);
+            requests.add(new FoodCalculationRequest(meal.getFoodName(), meal.getServingSize(), 1.0));
+        }
+        if (work.isEmpty()) {
+            return tasks.size();
+        }
+
+        BatchFoodCalculationResponse response;
+        try {
+            response = foodService.calculateCaloriesBatch(requests);
+        } catch (Exception e) {
+            logger.warn("Meal enrichment batch of {} failed: {}", work.size(), e.getMessage());
+            work.forEach(task -> reschedule(task, e.getMessage()));
+            return tasks.size();
+        }
+        for (BatchFoodCalculationResponse.Item item : response.items()) {
+            MealEnrichmentTask task = work.get(item.index());
+            try {
+                if (item.result() != null) {
+                    complete(task, requests.get(item.index()), item);
+                } else {
+                    reschedule(task, item.error());
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to record enrichment for meal ID {}: {}", task.getMealId(), e.getMessage());
+                reschedule(task, e.getMessage());
+            }
+        }
+        logger.debug("Meal enrichment batch processed {} tasks", tasks.size());
+        return tasks.size();
+    }
+
+    private List<MealEnrichmentTask> lease() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> due = taskRepository.findDueIds(now, PageRequest.of(0, enrichment.getBatchSize()));
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            String owner = UUID.randomUUID().toString();
+            taskRepository.lease(due, owner, now.plus(enrichment.getLeaseDuration()), now);
+            return taskRepository.findByLeaseOwner(owner);
+        });
+    }
+
+    private void complete(MealEnrichmentTask task, FoodCalculationRequest request, BatchFoodCalculationResponse.Item item) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Meal meal = mealRepository.findById(task.getMealId()).orElse(null);
+            if (meal == null || meal.getEnrichmentStatus() != EnrichmentStatus.PENDING) {
+                taskRepository.deleteById(task.getId());
+                return;
+            }
+            if (!Objects.equals(meal.getFoodName(), request.foodName())
+                || !Objects.equals(meal.getServingSize(), request.servingSize())) {
+                taskRepository.findById(task.getId()).ifPresent(current -> {
+                    current.setLeaseOwner(null);
+                    current.setLeaseExpiresAt(null);
+                    current.setNextAttemptAt(LocalDateTime.now());
+                });
+                return;
+            }
+            int previousCalories = meal.getCalories() != null ? meal.getCalories() : 0;
+            RollupDelta previous = RollupDelta.ofMeal(meal);
+            MealService.applyNutrition(meal, item.result());
+            meal.setEnrichmentStatus(EnrichmentStatus.COMPLETED);
+            int calories = meal.getCalories() != null ? meal.getCalories() : 0;
+            DailyLog log = meal.getDailyLog();
+            dailyLogService.applyMealCaloriesDelta(log, calories - previousCalories);
+            rollupService.apply(log.getUser().getId(), log.getDate(), RollupDelta.ofMeal(meal).minus(previous));
+            taskRepository.deleteById(task.getId());
+        });
+        completed.increment();
+    }
+
+    private void reschedule(MealEnrichmentTask task, String error) {
+        transactionTemplate.executeWithoutResult(status -> {
+            MealEnrichmentTask current = taskRepository.findById(task.getId()).orElse(null);
+            if (current == null) {
+                return;
+            }
+            int attempts = current.getAttempts() + 1;
+            if (attempts >= enrichment.getMaxAttempts()) {
+                mealRepository.findById(current.getMealId()).ifPresent(meal -> {
+                    if (meal.getEnrichmentStatus() == EnrichmentStatus.PENDING) {
+                        meal.setEnrichmentStatus(EnrichmentStatus.FAILED);
+                    }
+                });
+                taskRepository.delete(current);
+                failed.increment();
+                logger.warn("Giving up on nutrition enrichment for meal ID {} after {} attempts: {}",
+                    current.getMealId(), attempts, error);
+                return;
+            }
+            current.setAttempts(attempts);
+            current.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            current.setLeaseOwner(null);
+            current.setLeaseExpiresAt(null);
+            current.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            retried.increment();
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        long initial = enrichment.getInitialBackoff().toMillis();
+        long max = enrichment.getMaxBackoff().toMillis();
+        long exponential = initial << Math.min(attempts - 1, 20);
+        long capped = Math.min(max, Math.max(initial, exponential));
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.fitnessapp.service;
 
+import com.example.fitnessapp.config.FitnessAppProperties;
 import com.example.fitnessapp.dto.FoodCalculationResponse;
+import com.example.fitnessapp.dto.MealHistoryCursor;
+import com.example.fitnessapp.dto.MealHistoryItem;
+import com.example.fitnessapp.dto.MealHistoryPage;
+import com.example.fitnessapp.dto.RollupDelta;
 import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.EnrichmentStatus;
 import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealEnrichmentTask;
 import com.example.fitnessapp.repository.DailyLogRepository;
+import com.example.fitnessapp.repository.MealEnrichmentTaskRepository;
 import com.example.fitnessapp.repository.MealRepository;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,21 +28,35 @@ public class MealService {
 
     private static final Logger logger = LoggerFactory.getLogger(MealService.class);
 
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final MealRepository mealRepository;
     private final DailyLogRepository dailyLogRepository;
     private final DailyLogService dailyLogService;
     private final FoodService foodService;
+    private final FoodPopularity foodPopularity;
+    private final MealEnrichmentTaskRepository enrichmentTaskRepository;
+    private final UserDailyRollupService rollupService;
+    private final FitnessAppProperties properties;
 
     public MealService(
         MealRepository mealRepository,
         DailyLogRepository dailyLogRepository,
         DailyLogService dailyLogService,
-        FoodService foodService
+        FoodService foodService,
+        FoodPopularity foodPopularity,
+        MealEnrichmentTaskRepository enrichmentTaskRepository,
+        UserDailyRollupService rollupService,
+        FitnessAppProperties properties
     ) {
         this.mealRepository = mealRepository;
         this.dailyLogRepository = dailyLogRepository;
         this.dailyLogService = dailyLogService;
         this.foodService = foodService;
+        this.foodPopularity = foodPopularity;
+        this.enrichmentTaskRepository = enrichmentTaskRepository;
+        this.rollupService = rollupService;
+        this.properties = properties;
     }
 
     @Transactional
@@ -53,29 +77,27 @@ public class MealService {
             logger.warn("Failed to add meal: meal type is required");
             throw new IllegalArgumentException("Meal type is required");
         }
-        
-        if (meal.getCalories() == null && meal.getFoodName() != null && meal.getServingSize() != null) {
-            try {
-                logger.debug("Calculating calories for meal: {}", meal.getFoodName());
-                FoodCalculationResponse calculation = foodService.calculateCalories(
-                    meal.getFoodName(),
-                    meal.getServingSize(),
-                    1.0
-                );
-                
-                if (calculation != null) {
-                    meal.setCalories(calculation.calories());
-                    meal.setProtein(calculation.protein());
-                    meal.setCarbs(calculation.carbs());
-                    meal.setFats(calculation.fats());
-                }
-            } catch (Exception e) {
-                logger.warn("Failed to calculate calories for meal: {}", e.getMessage());
+
+        meal.setEnrichmentStatus(EnrichmentStatus.NOT_REQUIRED);
+        if (meal.getCalories() == null) {
+            if (properties.getEnrichment().isEnabled()) {
+                foodService.calculateCaloriesLocally(meal.getFoodName(), meal.getServingSize(), 1.0)
+                    .ifPresentOrElse(
+                        calculation -> applyNutrition(meal, calculation),
+                        () -> meal.setEnrichmentStatus(EnrichmentStatus.PENDING)
+                    );
+            } else {
+                calculateInline(meal);
             }
         }
-        
+
         Meal saved = mealRepository.save(meal);
-        recalculate(log);
+        if (saved.getEnrichmentStatus() == EnrichmentStatus.PENDING) {
+            enqueueEnrichment(saved.getId());
+        }
+        dailyLogService.applyMealCaloriesDelta(log, caloriesOf(saved));
+        rollupService.apply(log.getUser().getId(), log.getDate(), RollupDelta.ofMeal(saved));
+        foodPopularity.record(saved.getFoodName());
         logger.info("Meal added successfully with ID: {}", saved.getId());
         return saved;
     }
@@ -84,6 +106,8 @@ public class MealService {
     public Meal updateMeal(UUID mealId, Meal updates) {
         logger.info("Updating meal ID: {}", mealId);
         Meal meal = requireMeal(mealId);
+        int previousCalories = caloriesOf(meal);
+        RollupDelta previous = RollupDelta.ofMeal(meal);
         if (updates.getMealType() != null) {
             meal.setMealType(updates.getMealType());
         }
@@ -95,6 +119,10 @@ public class MealService {
         }
         if (updates.getCalories() != null) {
             meal.setCalories(updates.getCalories());
+            if (meal.getEnrichmentStatus() == EnrichmentStatus.PENDING) {
+                meal.setEnrichmentStatus(EnrichmentStatus.NOT_REQUIRED);
+                enrichmentTaskRepository.deleteByMealId(mealId);
+            }
         }
         if (updates.getProtein() != null) {
             meal.setProtein(updates.getProtein());
@@ -106,7 +134,9 @@ public class MealService {
             meal.setFats(updates.getFats());
         }
         Meal saved = mealRepository.save(meal);
-        recalculate(meal.getDailyLog());
+        DailyLog log = saved.getDailyLog();
+        dailyLogService.applyMealCaloriesDelta(log, caloriesOf(saved) - previousCalories);
+        rollupService.apply(log.getUser().getId(), log.getDate(), RollupDelta.ofMeal(saved).minus(previous));
         logger.info("Meal updated successfully: {}", mealId);
         return saved;
     }
@@ -116,9 +146,13 @@ public class MealService {
         logger.info("Deleting meal ID: {}", mealId);
         Meal meal = requireMeal(mealId);
         DailyLog log = meal.getDailyLog();
+        int calories = caloriesOf(meal);
+        RollupDelta removed = RollupDelta.ofMeal(meal).negate();
+        enrichmentTaskRepository.deleteByMealId(mealId);
         mealRepository.delete(meal);
-        recalculate(log);
-         logger.info("Meal deleted successfully: {}", mealId);
+        dailyLogService.applyMealCaloriesDelta(log, -calories);
+        rollupService.apply(log.getUser().getId(), log.getDate(), removed);
+        logger.info("Meal deleted successfully: {}", mealId);
     }
 
     @Transactional(readOnly = true)
@@ -126,6 +160,53 @@ public class MealService {
         return mealRepository.findByDailyLogId(dailyLogId);
     }
 
+    @Transactional(readOnly = true)
+    public MealHistoryPage getMealHistory(UUID userId, String cursor, int limit) {
+        MealHistoryCursor after = cursor == null || cursor.isBlank() ? null : MealHistoryCursor.decode(cursor);
+        return getMealHistory(userId, after, Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE)));
+    }
+
+    @Transactional(readOnly = true)
+    public MealHistoryPage getMealHistory(UUID userId, MealHistoryCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<MealHistoryItem> items = after == null
+            ? mealRepository.findHistoryFirstPage(userId, page)
+            : mealRepository.findHistoryAfter(userId, after.date(), after.mealType().name(), after.id(), page);
+        if (items.size() <= limit) {
+            return new MealHistoryPage(items, null);
+        }
+        List<MealHistoryItem> pageItems = items.subList(0, limit);
+        return new MealHistoryPage(List.copyOf(pageItems), MealHistoryCursor.of(pageItems.get(limit - 1)).encode());
+    }
+
+    private void calculateInline(Meal meal) {
+        try {
+            logger.debug("Calculating calories for meal: {}", meal.getFoodName());
+            FoodCalculationResponse calculation = foodService.calculateCalories(meal.getFoodName(), meal.getServingSize(), 1.0);
+            if (calculation != null) {
+                applyNutrition(meal, calculation);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to calculate calories for meal: {}", e.getMessage());
+        }
+    }
+
+    private void enqueueEnrichment(UUID mealId) {
+        MealEnrichmentTask task = new MealEnrichmentTask();
+        task.setMealId(mealId);
+        task.setNextAttemptAt(LocalDateTime.now());
+        task.setCreatedAt(LocalDateTime.now());
+        enrichmentTaskRepository.save(task);
+        logger.debug("Queued nutrition enrichment for meal ID: {}", mealId);
+    }
+
+    static void applyNutrition(Meal meal, FoodCalculationResponse calculation) {
+        meal.setCalories(calculation.calories());
+        meal.setProtein(calculation.protein());
+        meal.setCarbs(calculation.carbs());
+        meal.setFats(calculation.fats());
+    }
+
     private Meal requireMeal(UUID mealId) {
         return mealRepository.findById(mealId).orElseThrow(() -> new EntityNotFoundException("Meal not found"));
     }
@@ -136,11 +217,8 @@ public class MealService {
             .orElseThrow(() -> new EntityNotFoundException("Daily log not found"));
     }
 
-    private void recalculate(DailyLog log) {
-        if (log == null) {
-            return;
-        }
-        dailyLogService.computeDailyTotals(log.getUser().getId(), log.getDate());
+    private int caloriesOf(Meal meal) {
+        return meal.getCalories() != null ? meal.getCalories() : 0;
     }
 }
 
@@ -0,0 +1,104 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.MicroserviceFoodPageResponse;
+import com.example.fitnessapp.dto.NutrientVector;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NutrientVectorCache {
+
+    private final Cache<UUID, NutrientVector> byId;
+    private final Cache<String, NutrientVector> byName;
+    private final Counter hits;
+    private final Counter misses;
+
+    public NutrientVectorCache(FitnessAppProperties properties, MeterRegistry meterRegistry) {
+        FitnessAppProperties.Microservice.Food food = properties.getMicroservice().getFood();
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(food.getNutrientCacheMaximumSize())
+            .expireAfterWrite(food.getNutrientCacheExpireAfterWrite())
+            .build();
+        this.byName = Caffeine.newBuilder()
+            .maximumSize(food.getNutrientCacheMaximumSize())
+            .expireAfterWrite(food.getNutrientCacheExpireAfterWrite())
+            .build();
+        this.hits = meterRegistry.counter("fitnessapp.food.nutrients.lookup", "result", "hit");
+        this.misses = meterRegistry.counter("fitnessapp.food.nutrients.lookup", "result", "miss");
+    }
+
+    public NutrientVector findByName(String name) {
+        return record(name == null ? null : byName.getIfPresent(FoodNameNormalizer.normalize(name)));
+    }
+
+    public NutrientVector findById(UUID foodItemId) {
+        return record(foodItemId == null ? null : byId.getIfPresent(foodItemId));
+    }
+
+    public void putAll(MicroserviceFoodPageResponse response) {
+        if (response == null || response.content() == null) {
+            return;
+        }
+        for (MicroserviceFoodPageResponse.MicroserviceFoodItem item : response.content()) {
+            put(NutrientVector.of(item));
+        }
+    }
+
+    public void put(NutrientVector vector) {
+        if (vector == null) {
+            return;
+        }
+        byId.put(vector.foodItemId(), vector);
+        byName.put(FoodNameNormalizer.normalize(vector.name()), vector);
+    }
+
+    public void evict(NutrientVector vector) {
+        byId.invalidate(vector.foodItemId());
+        byName.invalidate(FoodNameNormalizer.normalize(vector.name()));
+    }
+
+    public void evictByName(String name) {
+        NutrientVector vector = byName.getIfPresent(FoodNameNormalizer.normalize(name));
+        if (vector != null) {
+            evict(vector);
+        }
+    }
+
+    public void evictById(UUID foodItemId) {
+        NutrientVector vector = byId.getIfPresent(foodItemId);
+        if (vector != null) {
+            evict(vector);
+        }
+    }
+
+    public List<NutrientVector> hottest(int limit) {
+        return byId.policy().eviction()
+            .map(eviction -> List.copyOf(eviction.hottest(limit).values()))
+            .orElseGet(() -> byId.asMap().values().stream().limit(limit).toList());
+    }
+
+    public NutrientVector peekByName(String name) {
+        return byName.getIfPresent(FoodNameNormalizer.normalize(name));
+    }
+
+    public double hitRate() {
+        double lookups = hits.count() + misses.count();
+        return lookups > 0 ? hits.count() / lookups : Double.NaN;
+    }
+
+    public void clear() {
+        byId.invalidateAll();
+        byName.invalidateAll();
+    }
+
+    private NutrientVector record(NutrientVector vector) {
+        (vector != null ? hits : misses).increment();
+        return vector;
+    }
+}
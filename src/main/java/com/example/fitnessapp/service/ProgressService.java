@@ -1,14 +1,21 @@
 package com.example.fitnessapp.service;
 
+import com.example.fitnessapp.dto.LatestWeight;
 import com.example.fitnessapp.entities.Progress;
 import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.repository.LatestProgressRepository;
 import com.example.fitnessapp.repository.ProgressRepository;
 import com.example.fitnessapp.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,11 +28,20 @@ public class ProgressService {
      private static final Logger logger = LoggerFactory.getLogger(ProgressService.class);
 
     private final ProgressRepository progressRepository;
+    private final LatestProgressRepository latestProgressRepository;
     private final UserRepository userRepository;
+    private final UserDailyRollupService rollupService;
 
-    public ProgressService(ProgressRepository progressRepository, UserRepository userRepository) {
+    public ProgressService(
+        ProgressRepository progressRepository,
+        LatestProgressRepository latestProgressRepository,
+        UserRepository userRepository,
+        UserDailyRollupService rollupService
+    ) {
         this.progressRepository = progressRepository;
+        this.latestProgressRepository = latestProgressRepository;
         this.userRepository = userRepository;
+        this.rollupService = rollupService;
     }
 
     @Transactional
@@ -38,6 +54,8 @@ public class ProgressService {
         progress.setWeightKg(weightKg);
         progress.setMeasurementNotes(notes);
         Progress saved = progressRepository.save(progress);
+        updateLatestProgress(userId, saved);
+        rollupService.recordWeight(userId, date, weightKg);
         logger.info("Progress entry added successfully with ID: {}", saved.getId());
         return saved;
     }
@@ -70,6 +88,37 @@ public class ProgressService {
         return new ProgressTrend(startWeight, endWeight, delta, entries.size());
     }
 
+    @Transactional(readOnly = true)
+    public Map<UUID, BigDecimal> findLatestWeights(Collection<UUID> userIds) {
+        Map<UUID, BigDecimal> weights = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return weights;
+        }
+        Set<UUID> missing = new HashSet<>(userIds);
+        for (LatestWeight latest : latestProgressRepository.findWeightsByUserIds(userIds)) {
+            missing.remove(latest.userId());
+            if (latest.weightKg() != null) {
+                weights.put(latest.userId(), latest.weightKg());
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (LatestWeight latest : progressRepository.findLatestWeightsByUserIds(missing)) {
+                if (latest.weightKg() != null) {
+                    weights.putIfAbsent(latest.userId(), latest.weightKg());
+                }
+            }
+        }
+        return weights;
+    }
+
+    private void updateLatestProgress(UUID userId, Progress progress) {
+        if (!latestProgressRepository.existsById(userId)) {
+            Progress seed = progressRepository.findTopByUserOrderByDateDesc(progress.getUser()).orElse(progress);
+            latestProgressRepository.insertIfAbsent(userId, seed.getId(), seed.getDate(), seed.getWeightKg());
+        }
+        latestProgressRepository.advance(userId, progress.getId(), progress.getDate(), progress.getWeightKg());
+    }
+
     private User requireUser(UUID userId) {
         return userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found"));
     }
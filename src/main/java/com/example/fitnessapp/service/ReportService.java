@@ -1,17 +1,20 @@
 package com.example.fitnessapp.service;
 
-import com.example.fitnessapp.entities.DailyLog;
-import com.example.fitnessapp.entities.Progress;
-import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.DailyCaloriesSum;
+import com.example.fitnessapp.dto.DailyLogNoteView;
+import com.example.fitnessapp.dto.RollupTotals;
+import com.example.fitnessapp.repository.DailyLogRepository;
 import com.example.fitnessapp.repository.ProgressRepository;
+import com.example.fitnessapp.repository.UserDailyRollupRepository;
 import com.example.fitnessapp.repository.UserRepository;
 import com.example.fitnessapp.repository.WorkoutRepository;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -23,21 +26,30 @@ public class ReportService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
 
-    private final DailyLogService dailyLogService;
+    private final DailyLogRepository dailyLogRepository;
     private final ProgressRepository progressRepository;
     private final WorkoutRepository workoutRepository;
     private final UserRepository userRepository;
+    private final UserDailyRollupRepository rollupRepository;
+    private final UserMetricsStore metricsStore;
+    private final FitnessAppProperties properties;
 
     public ReportService(
-        DailyLogService dailyLogService,
+        DailyLogRepository dailyLogRepository,
         ProgressRepository progressRepository,
         WorkoutRepository workoutRepository,
-        UserRepository userRepository
+        UserRepository userRepository,
+        UserDailyRollupRepository rollupRepository,
+        UserMetricsStore metricsStore,
+        FitnessAppProperties properties
     ) {
-        this.dailyLogService = dailyLogService;
+        this.dailyLogRepository = dailyLogRepository;
         this.progressRepository = progressRepository;
         this.workoutRepository = workoutRepository;
         this.userRepository = userRepository;
+        this.rollupRepository = rollupRepository;
+        this.metricsStore = metricsStore;
+        this.properties = properties;
     }
 
     @Transactional(readOnly = true)
@@ -56,42 +68,75 @@ public class ReportService {
     @Transactional(readOnly = true)
     @Cacheable(value = "reportCache", key = "#userId.toString() + '_' + #start.toString() + '_' + #end.toString()")
     public UserReportSummary generateSummary(UUID userId, LocalDate start, LocalDate end) {
+        return generateSummary(userId, start, end, properties.getReports().isUseRollups());
+    }
+
+    @Transactional(readOnly = true)
+    public UserReportSummary generateSummary(UUID userId, LocalDate start, LocalDate end, boolean fromRollups) {
         logger.info("Generating report summary for user ID: {}, from {} to {}", userId, start, end);
-        User user = requireUser(userId);
-        List<DailyLog> logs = dailyLogService.getLogsBetween(userId, start, end);
-        int caloriesIn = logs
-            .stream()
-            .map(DailyLog::getTotalCaloriesIn)
-            .filter(java.util.Objects::nonNull)
-            .mapToInt(Integer::intValue)
-            .sum();
-        int caloriesOut = logs
-            .stream()
-            .map(DailyLog::getTotalCaloriesOut)
-            .filter(java.util.Objects::nonNull)
-            .mapToInt(Integer::intValue)
-            .sum();
-        long workoutCount = workoutRepository.findByUserAndDateBetween(user, start, end).size();
-        List<Progress> progress = progressRepository.findByUserAndDateBetween(user, start, end);
-        progress.sort(Comparator.comparing(Progress::getDate));
+        requireUser(userId);
+        if (fromRollups) {
+            return summarizeRollups(userId, start, end);
+        }
+        DailyCaloriesSum calories = dailyLogRepository.sumCaloriesBetween(userId, start, end);
+        int caloriesIn = calories.totalCaloriesIn() != null ? calories.totalCaloriesIn().intValue() : 0;
+        int caloriesOut = calories.totalCaloriesOut() != null ? calories.totalCaloriesOut().intValue() : 0;
+        long workoutCount = workoutRepository.countByUserIdBetween(userId, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
         BigDecimal weightChange = BigDecimal.ZERO;
-        if (!progress.isEmpty()) {
-            BigDecimal startWeight = progress.get(0).getWeightKg() != null ? progress.get(0).getWeightKg() : BigDecimal.ZERO;
-            BigDecimal endWeight =
-                progress.get(progress.size() - 1).getWeightKg() != null ? progress.get(progress.size() - 1).getWeightKg() : BigDecimal.ZERO;
-            weightChange = endWeight.subtract(startWeight);
+        List<BigDecimal> startWeights = progressRepository.findFirstWeightsBetween(userId, start, end, PageRequest.of(0, 1));
+        if (!startWeights.isEmpty()) {
+            List<BigDecimal> endWeights = progressRepository.findLastWeightsBetween(userId, start, end, PageRequest.of(0, 1));
+            weightChange = weightOrZero(endWeights).subtract(weightOrZero(startWeights));
         }
-        List<DailyLog> logsWithNotes = logs.stream()
-            .filter(log -> log.getNotes() != null && !log.getNotes().trim().isEmpty())
-            .sorted(Comparator.comparing(DailyLog::getDate))
-            .toList();
+        List<DailyLogNoteView> logsWithNotes = dailyLogRepository.findNotesBetween(userId, start, end);
         UserReportSummary summary = new UserReportSummary(start, end, caloriesIn, caloriesOut, workoutCount, weightChange, logsWithNotes);
         logger.info("Report summary generated: {} calories in, {} calories out, {} workouts", caloriesIn, caloriesOut, workoutCount);
         return summary;
     }
 
-    private User requireUser(UUID userId) {
-        return userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found"));
+    private UserReportSummary summarizeRollups(UUID userId, LocalDate start, LocalDate end) {
+        if (metricsStore.isEnabled()) {
+            return summarizeMetrics(userId, start, end);
+        }
+        RollupTotals totals = rollupRepository.sumBetween(userId, start, end);
+        int caloriesIn = totals.caloriesIn() != null ? totals.caloriesIn().intValue() : 0;
+        int caloriesOut = totals.caloriesOut() != null ? totals.caloriesOut().intValue() : 0;
+        long workoutCount = totals.workoutCount() != null ? totals.workoutCount() : 0;
+        BigDecimal weightChange = BigDecimal.ZERO;
+        List<BigDecimal> startWeights = rollupRepository.findFirstWeightsBetween(userId, start, end, PageRequest.of(0, 1));
+        if (!startWeights.isEmpty()) {
+            List<BigDecimal> endWeights = rollupRepository.findLastWeightsBetween(userId, start, end, PageRequest.of(0, 1));
+            weightChange = weightOrZero(endWeights).subtract(weightOrZero(startWeights));
+        }
+        List<DailyLogNoteView> logsWithNotes = dailyLogRepository.findNotesBetween(userId, start, end);
+        logger.info("Report summary generated from rollups: {} calories in, {} calories out, {} workouts",
+            caloriesIn, caloriesOut, workoutCount);
+        return new UserReportSummary(start, end, caloriesIn, caloriesOut, workoutCount, weightChange, logsWithNotes);
+    }
+
+    private UserReportSummary summarizeMetrics(UUID userId, LocalDate start, LocalDate end) {
+        UserMetricsSeries series = metricsStore.get(userId);
+        int caloriesIn = (int) series.sum(UserMetricsSeries.Metric.CALORIES_IN, start, end);
+        int caloriesOut = (int) series.sum(UserMetricsSeries.Metric.CALORIES_OUT, start, end);
+        long workoutCount = (long) series.sum(UserMetricsSeries.Metric.WORKOUTS, start, end);
+        BigDecimal startWeight = series.firstWeight(start, end);
+        BigDecimal weightChange = startWeight == null
+            ? BigDecimal.ZERO
+            : series.lastWeight(start, end).subtract(startWeight);
+        List<DailyLogNoteView> logsWithNotes = dailyLogRepository.findNotesBetween(userId, start, end);
+        logger.info("Report summary generated from metrics index: {} calories in, {} calories out, {} workouts",
+            caloriesIn, caloriesOut, workoutCount);
+        return new UserReportSummary(start, end, caloriesIn, caloriesOut, workoutCount, weightChange, logsWithNotes);
+    }
+
+    private static BigDecimal weightOrZero(List<BigDecimal> weights) {
+        return weights.isEmpty() || weights.get(0) == null ? BigDecimal.ZERO : weights.get(0);
+    }
+
+    private void requireUser(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
     }
 
     public record UserReportSummary(
@@ -101,7 +146,7 @@ public class ReportService {
         int totalCaloriesOut,
         long entriesCount,
         BigDecimal weightChange,
-        List<DailyLog> dailyLogsWithNotes
+        List<DailyLogNoteView> dailyLogsWithNotes
     ) {}
 }
 
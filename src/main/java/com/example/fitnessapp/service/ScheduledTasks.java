@@ -1,53 +1,60 @@
 package com.example.fitnessapp.service;
 
-import com.example.fitnessapp.repository.DailyLogRepository;
+import com.example.fitnessapp.config.FitnessAppProperties;
 import java.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ScheduledTasks {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTasks.class);
 
-    private final DailyLogRepository dailyLogRepository;
-    private final CacheService cacheService;
-
-    public ScheduledTasks(DailyLogRepository dailyLogRepository, CacheService cacheService) {
-        this.dailyLogRepository = dailyLogRepository;
-        this.cacheService = cacheService;
+    private final DataRetentionService dataRetentionService;
+    private final DailyLogService dailyLogService;
+    private final FitnessAppProperties properties;
+
+    public ScheduledTasks(
+        DataRetentionService dataRetentionService,
+        DailyLogService dailyLogService,
+        FitnessAppProperties properties
+    ) {
+        this.dataRetentionService = dataRetentionService;
+        this.dailyLogService = dailyLogService;
+        this.properties = properties;
     }
 
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
+    @Scheduled(cron = "${fitnessapp.retention.cron:0 0 2 * * ?}")
     public void dailyCleanupTask() {
-        logger.info("Starting daily cleanup task at 2 AM");
+        if (!properties.getRetention().isEnabled()) {
+            return;
+        }
+        logger.info("Starting daily cleanup task");
         try {
-            LocalDate cutoffDate = LocalDate.now().minusDays(90);
-            var oldLogs = dailyLogRepository.findAll().stream()
-                .filter(log -> log.getDate().isBefore(cutoffDate))
-                .toList();
-            dailyLogRepository.deleteAll(oldLogs);
-            logger.info("Daily cleanup completed. Deleted {} old daily logs", oldLogs.size());
+            long deleted = dataRetentionService.purgeExpiredDailyLogs();
+            logger.info("Daily cleanup completed. Deleted {} old daily logs", deleted);
         } catch (Exception e) {
             logger.error("Error during daily cleanup task", e);
         }
     }
 
-    @Scheduled(fixedRate = 3600000)
-    public void hourlyCacheRefresh() {
-        logger.debug("Starting hourly cache refresh task");
+    @Scheduled(cron = "${fitnessapp.totals.reconcile-cron:0 15 * * * ?}")
+    public void reconcileDailyTotalsTask() {
+        if (!properties.getTotals().isIncremental()) {
+            return;
+        }
+        logger.debug("Starting daily totals reconciliation task");
         try {
-            cacheService.clear("foodSearchCache");
-            cacheService.clear("foodCache");
-            cacheService.clear("reportCache");
-            logger.info("Cache refresh completed successfully");
+            LocalDate today = LocalDate.now();
+            LocalDate start = today.minusDays(Math.max(0, properties.getTotals().getReconcileWindowDays()));
+            int repaired = dailyLogService.reconcileTotals(start, today);
+            if (repaired > 0) {
+                logger.warn("Daily totals reconciliation repaired {} logs", repaired);
+            }
         } catch (Exception e) {
-            logger.error("Error during cache refresh task", e);
+            logger.error("Error during daily totals reconciliation task", e);
         }
     }
 }
-
@@ -0,0 +1,269 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServingSizeParser {
+
+    public static final double DEFAULT_GRAMS = 100;
+
+    private static final int MEMO_LIMIT = 4096;
+
+    private static final String[] ALIASES = {
+        "g", "gr", "gram", "grams", "gramme", "grammes",
+        "kg", "kgs", "kilo", "kilos", "kilogram", "kilograms",
+        "oz", "ounce", "ounces",
+        "lb", "lbs", "pound", "pounds",
+        "ml", "milliliter", "milliliters", "millilitre", "millilitres",
+        "l", "liter", "liters", "litre", "litres",
+        "cup", "cups",
+        "tbsp", "tbs", "tablespoon", "tablespoons",
+        "tsp", "teaspoon", "teaspoons",
+        "piece", "pieces", "pc", "pcs", "serving", "servings"
+    };
+    private static final Unit[] ALIAS_UNITS = {
+        Unit.GRAM, Unit.GRAM, Unit.GRAM, Unit.GRAM, Unit.GRAM, Unit.GRAM,
+        Unit.KILOGRAM, Unit.KILOGRAM, Unit.KILOGRAM, Unit.KILOGRAM, Unit.KILOGRAM, Unit.KILOGRAM,
+        Unit.OUNCE, Unit.OUNCE, Unit.OUNCE,
+        Unit.POUND, Unit.POUND, Unit.POUND, Unit.POUND,
+        Unit.MILLILITER, Unit.MILLILITER, Unit.MILLILITER, Unit.MILLILITER, Unit.MILLILITER,
+        Unit.LITER, Unit.LITER, Unit.LITER, Unit.LITER, Unit.LITER,
+        Unit.CUP, Unit.CUP,
+        Unit.TABLESPOON, Unit.TABLESPOON, Unit.TABLESPOON, Unit.TABLESPOON,
+        Unit.TEASPOON, Unit.TEASPOON, Unit.TEASPOON,
+        Unit.PIECE, Unit.PIECE, Unit.PIECE, Unit.PIECE, Unit.PIECE, Unit.PIECE
+    };
+
+    private final Map<String, ServingSize> memo = new ConcurrentHashMap<>();
+    private final Map<String, Double> densities;
+    private final Map<String, Double> pieceWeights;
+
+    public ServingSizeParser(FitnessAppProperties properties) {
+        FitnessAppProperties.Microservice.Food.ServingSizes servingSizes = properties.getMicroservice().getFood().getServingSizes();
+        this.densities = normalizedKeys(servingSizes.getDensities());
+        this.pieceWeights = normalizedKeys(servingSizes.getPieceWeights());
+    }
+
+    public double toGrams(String servingSize, String foodName, Integer foodServingGrams) {
+        ServingSize parsed = parseMemoized(servingSize);
+        if (parsed == null) {
+            return DEFAULT_GRAMS;
+        }
+        String food = FoodNameNormalizer.normalize(foodName);
+        return switch (parsed.unit().dimension()) {
+            case MASS -> parsed.quantity() * parsed.unit().factor();
+            case VOLUME -> parsed.quantity() * parsed.unit().factor() * densities.getOrDefault(food, 1.0);
+            case COUNT -> parsed.quantity() * pieceWeight(food, foodServingGrams);
+        };
+    }
+
+    public ServingSize parseMemoized(String servingSize) {
+        if (servingSize == null) {
+            return null;
+        }
+        ServingSize cached = memo.get(servingSize);
+        if (cached != null) {
+            return cached;
+        }
+        ServingSize parsed = parse(servingSize);
+        if (parsed != null && memo.size() < MEMO_LIMIT) {
+            memo.put(servingSize, parsed);
+        }
+        return parsed;
+    }
+
+    public static ServingSize parse(CharSequence input) {
+        if (input == null) {
+            return null;
+        }
+        int length = input.length();
+        int pos = skipSpaces(input, 0);
+
+        double quantity = 1;
+        boolean hasNumber = false;
+        int numberEnd = numberEnd(input, pos);
+        if (numberEnd > pos) {
+            quantity = numberValue(input, pos, numberEnd);
+            pos = numberEnd;
+            hasNumber = true;
+
+            int next = skipSpaces(input, pos);
+            if (next < length && input.charAt(next) == '/') {
+                int denominatorStart = skipSpaces(input, next + 1);
+                int denominatorEnd = numberEnd(input, denominatorStart);
+                double denominator = numberValue(input, denominatorStart, denominatorEnd);
+                if (denominator == 0) {
+                    return null;
+                }
+                quantity /= denominator;
+                pos = denominatorEnd;
+            } else if (next > pos) {
+                int numeratorEnd = numberEnd(input, next);
+                int slash = skipSpaces(input, numeratorEnd);
+                if (numeratorEnd > next && slash < length && input.charAt(slash) == '/') {
+                    int denominatorStart = skipSpaces(input, slash + 1);
+                    int denominatorEnd = numberEnd(input, denominatorStart);
+                    double denominator = numberValue(input, denominatorStart, denominatorEnd);
+                    if (denominator != 0) {
+                        quantity += numberValue(input, next, numeratorEnd) / denominator;
+                        pos = denominatorEnd;
+                    }
+                }
+            }
+        }
+        if (!(quantity > 0) || Double.isInfinite(quantity)) {
+            return null;
+        }
+
+        pos = skipSpaces(input, pos);
+        int wordStart = pos;
+        while (pos < length && Character.isLetter(input.charAt(pos))) {
+            pos++;
+        }
+        if (wordStart == pos) {
+            return hasNumber ? new ServingSize(quantity, Unit.LEGACY_PORTION) : null;
+        }
+        int wordLength = pos - wordStart;
+        for (int i = 0; i < ALIASES.length; i++) {
+            String alias = ALIASES[i];
+            if (alias.length() == wordLength && regionMatchesIgnoreCase(input, wordStart, alias)) {
+                return new ServingSize(quantity, ALIAS_UNITS[i]);
+            }
+        }
+        return hasNumber ? new ServingSize(quantity, Unit.PIECE) : null;
+    }
+
+    private double pieceWeight(String food, Integer foodServingGrams) {
+        Double configured = pieceWeights.get(food);
+        if (configured != null) {
+            return configured;
+        }
+        return foodServingGrams != null && foodServingGrams > 0 ? foodServingGrams : DEFAULT_GRAMS;
+    }
+
+    private static int numberEnd(CharSequence input, int start) {
+        int length = input.length();
+        int pos = start;
+        boolean digits = false;
+        boolean fraction = false;
+        while (pos < length) {
+            char c = input.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == ',' && digits && !fraction && isThousandsSeparator(input, pos)) {
+                pos += 3;
+            } else if ((c == '.' || c == ',') && !fraction && pos + 1 < length && isDigit(input.charAt(pos + 1))) {
+                fraction = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        return digits ? pos : start;
+    }
+
+    private static double numberValue(CharSequence input, int start, int end) {
+        double value = 0;
+        double scale = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == ',' && scale == 0 && isThousandsSeparator(input, i)) {
+                continue;
+            }
+            if (c == '.' || c == ',') {
+                scale = 1;
+            } else if (scale == 0) {
+                value = value * 10 + (c - '0');
+            } else {
+                scale /= 10;
+                value += (c - '0') * scale;
+            }
+        }
+        return value;
+    }
+
+    private static int skipSpaces(CharSequence input, int pos) {
+        while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isThousandsSeparator(CharSequence input, int comma) {
+        int groupEnd = comma + 4;
+        if (groupEnd > input.length()) {
+            return false;
+        }
+        for (int i = comma + 1; i < groupEnd; i++) {
+            if (!isDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return groupEnd == input.length() || !isDigit(input.charAt(groupEnd));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence input, int start, String alias) {
+        for (int i = 0; i < alias.length(); i++) {
+            if (Character.toLowerCase(input.charAt(start + i)) != alias.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Double> normalizedKeys(Map<String, Double> values) {
+        Map<String, Double> normalized = new HashMap<>();
+        values.forEach((name, value) -> {
+            if (value != null && value > 0) {
+                normalized.put(FoodNameNormalizer.normalize(name), value);
+            }
+        });
+        return Map.copyOf(normalized);
+    }
+
+    public record ServingSize(double quantity, Unit unit) {}
+
+    public enum Dimension {
+        MASS,
+        VOLUME,
+        COUNT
+    }
+
+    public enum Unit {
+        GRAM(Dimension.MASS, 1),
+        KILOGRAM(Dimension.MASS, 1000),
+        OUNCE(Dimension.MASS, 28.349523125),
+        POUND(Dimension.MASS, 453.59237),
+        MILLILITER(Dimension.VOLUME, 1),
+        LITER(Dimension.VOLUME, 1000),
+        CUP(Dimension.VOLUME, 240),
+        TABLESPOON(Dimension.VOLUME, 15),
+        TEASPOON(Dimension.VOLUME, 5),
+        PIECE(Dimension.COUNT, 1),
+        LEGACY_PORTION(Dimension.MASS, DEFAULT_GRAMS);
+
+        private final Dimension dimension;
+        private final double factor;
+
+        Unit(Dimension dimension, double factor) {
+            this.dimension = dimension;
+            this.factor = factor;
+        }
+
+        public Dimension dimension() {
+            return dimension;
+        }
+
+        public double factor() {
+            return factor;
+        }
+    }
+}
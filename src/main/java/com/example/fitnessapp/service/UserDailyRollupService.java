@@ -0,0 +1,175 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.dto.RollupMealAggregate;
+import com.example.fitnessapp.dto.RollupRebuildResult;
+import com.example.fitnessapp.dto.RollupWeight;
+import com.example.fitnessapp.dto.RollupWorkoutAggregate;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import com.example.fitnessapp.entities.WorkoutType;
+import com.example.fitnessapp.repository.MealRepository;
+import com.example.fitnessapp.repository.ProgressRepository;
+import com.example.fitnessapp.repository.UserDailyRollupRepository;
+import com.example.fitnessapp.repository.WorkoutRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class UserDailyRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDailyRollupService.class);
+
+    private final UserDailyRollupRepository rollupRepository;
+    private final MealRepository mealRepository;
+    private final WorkoutRepository workoutRepository;
+    private final ProgressRepository progressRepository;
+    private final UserMetricsStore metricsStore;
+    private final FitnessAppProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserDailyRollupService(
+        UserDailyRollupRepository rollupRepository,
+        MealRepository mealRepository,
+        WorkoutRepository workoutRepository,
+        ProgressRepository progressRepository,
+        UserMetricsStore metricsStore,
+        FitnessAppProperties properties,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.mealRepository = mealRepository;
+        this.workoutRepository = workoutRepository;
+        this.progressRepository = progressRepository;
+        this.metricsStore = metricsStore;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public void apply(UUID userId, LocalDate date, RollupDelta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+        rollupRepository.insertIfAbsent(userId, date);
+        rollupRepository.applyDelta(
+            userId,
+            date,
+            delta.caloriesIn(),
+            delta.caloriesOut(),
+            delta.protein(),
+            delta.carbs(),
+            delta.fat(),
+            delta.workoutCount(),
+            delta.cardioMinutes(),
+            delta.strengthMinutes(),
+            delta.yogaMinutes(),
+            delta.otherMinutes()
+        );
+        eventPublisher.publishEvent(new UserRollupChangedEvent(userId, date, delta, null));
+    }
+
+    @Transactional
+    public void recordWeight(UUID userId, LocalDate date, BigDecimal weightKg) {
+        if (weightKg == null) {
+            return;
+        }
+        rollupRepository.insertIfAbsent(userId, date);
+        rollupRepository.setLastWeight(userId, date, weightKg);
+        eventPublisher.publishEvent(new UserRollupChangedEvent(userId, date, null, weightKg));
+    }
+
+    public RollupRebuildResult rebuild(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        long began = System.nanoTime();
+        LocalDate from = clampToRetention(start);
+        int chunkDays = Math.max(1, properties.getReports().getRebuildChunkDays());
+        logger.info("Rebuilding daily rollups from {} to {} in {}-day chunks", from, end, chunkDays);
+        int chunks = 0;
+        int rows = 0;
+        for (LocalDate chunkStart = from; !chunkStart.isAfter(end); chunkStart = chunkStart.plusDays(chunkDays)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+            LocalDate last = chunkEnd.isAfter(end) ? end : chunkEnd;
+            LocalDate first = chunkStart;
+            Integer written = transactionTemplate.execute(status -> rebuildChunk(first, last));
+            rows += written != null ? written : 0;
+            chunks++;
+        }
+        metricsStore.invalidateAll();
+        long elapsedMillis = (System.nanoTime() - began) / 1_000_000;
+        logger.info("Rebuilt {} daily rollup rows in {} chunks in {} ms", rows, chunks, elapsedMillis);
+        return new RollupRebuildResult(from, end, chunks, rows, elapsedMillis);
+    }
+
+    private LocalDate clampToRetention(LocalDate start) {
+        FitnessAppProperties.Retention retention = properties.getRetention();
+        if (!retention.isEnabled()) {
+            return start;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(retention.getDays());
+        if (!start.isBefore(cutoff)) {
+            return start;
+        }
+        logger.warn("Daily logs before {} are purged by retention, not rebuilding rollups from {}", cutoff, start);
+        return cutoff;
+    }
+
+    private int rebuildChunk(LocalDate start, LocalDate end) {
+        int deleted = rollupRepository.deleteBetween(start, end);
+        Map<UserDailyRollupId, UserDailyRollup> rollups = new HashMap<>();
+
+        for (RollupMealAggregate meals : mealRepository.aggregateByUserAndDateBetween(start, end)) {
+            UserDailyRollup rollup = rollupFor(rollups, meals.userId(), meals.date());
+            rollup.setCaloriesIn(rollup.getCaloriesIn() + (meals.calories() != null ? meals.calories().intValue() : 0));
+            rollup.setProtein(rollup.getProtein() + (meals.protein() != null ? meals.protein() : 0));
+            rollup.setCarbs(rollup.getCarbs() + (meals.carbs() != null ? meals.carbs() : 0));
+            rollup.setFat(rollup.getFat() + (meals.fat() != null ? meals.fat() : 0));
+        }
+
+        for (RollupWorkoutAggregate workouts : workoutRepository.aggregateByUserDateAndTypeBetween(
+            start.atStartOfDay(), end.plusDays(1).atStartOfDay())) {
+            UserDailyRollup rollup = rollupFor(rollups, workouts.userId(), workouts.date());
+            int minutes = workouts.minutes() != null ? workouts.minutes().intValue() : 0;
+            rollup.setCaloriesOut(rollup.getCaloriesOut() + (workouts.calories() != null ? workouts.calories().intValue() : 0));
+            rollup.setWorkoutCount(rollup.getWorkoutCount() + workouts.workouts().intValue());
+            switch (workouts.type() != null ? workouts.type() : WorkoutType.OTHER) {
+                case CARDIO -> rollup.setCardioMinutes(rollup.getCardioMinutes() + minutes);
+                case STRENGTH -> rollup.setStrengthMinutes(rollup.getStrengthMinutes() + minutes);
+                case YOGA -> rollup.setYogaMinutes(rollup.getYogaMinutes() + minutes);
+                default -> rollup.setOtherMinutes(rollup.getOtherMinutes() + minutes);
+            }
+        }
+
+        for (RollupWeight weight : progressRepository.findWeightsBetween(start, end)) {
+            rollupFor(rollups, weight.userId(), weight.date()).setLastWeightKg(weight.weightKg());
+        }
+
+        rollupRepository.saveAll(rollups.values());
+        logger.debug("Rebuilt daily rollups {} to {}: {} removed, {} written", start, end, deleted, rollups.size());
+        return rollups.size();
+    }
+
+    private static UserDailyRollup rollupFor(Map<UserDailyRollupId, UserDailyRollup> rollups, UUID userId, LocalDate date) {
+        return rollups.computeIfAbsent(new UserDailyRollupId(userId, date), id -> {
+            UserDailyRollup rollup = new UserDailyRollup();
+            rollup.setId(id);
+            return rollup;
+        });
+    }
+}
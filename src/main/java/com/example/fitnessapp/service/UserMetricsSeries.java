@@ -0,0 +1,236 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class UserMetricsSeries {
+
+    public enum Metric {
+        CALORIES_IN,
+        CALORIES_OUT,
+        WORKOUTS,
+        CARDIO_MINUTES,
+        STRENGTH_MINUTES,
+        YOGA_MINUTES,
+        OTHER_MINUTES,
+        PROTEIN,
+        CARBS,
+        FAT;
+
+        private static final int INTEGRAL_COUNT = PROTEIN.ordinal();
+
+        boolean integral() {
+            return ordinal() < INTEGRAL_COUNT;
+        }
+
+        int column() {
+            return integral() ? ordinal() : ordinal() - INTEGRAL_COUNT;
+        }
+    }
+
+    private final long firstDay;
+    private final int days;
+    private final int[][] counts;
+    private final float[][] macros;
+    private final float[] weights;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private UserMetricsSeries(long firstDay, int days) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.counts = new int[Metric.INTEGRAL_COUNT][days + 1];
+        this.macros = new float[Metric.values().length - Metric.INTEGRAL_COUNT][days + 1];
+        this.weights = new float[days];
+        Arrays.fill(weights, Float.NaN);
+    }
+
+    static UserMetricsSeries build(List<UserDailyRollup> rollups, LocalDate today, int headroomDays) {
+        long first = today.toEpochDay();
+        long last = first;
+        for (UserDailyRollup rollup : rollups) {
+            long day = rollup.getId().getDate().toEpochDay();
+            first = Math.min(first, day);
+            last = Math.max(last, day);
+        }
+        last += Math.max(0, headroomDays);
+        UserMetricsSeries series = new UserMetricsSeries(first, Math.toIntExact(last - first + 1));
+        for (UserDailyRollup rollup : rollups) {
+            int index = 1 + (int) (rollup.getId().getDate().toEpochDay() - first);
+            series.counts[Metric.CALORIES_IN.column()][index] = rollup.getCaloriesIn();
+            series.counts[Metric.CALORIES_OUT.column()][index] = rollup.getCaloriesOut();
+            series.counts[Metric.WORKOUTS.column()][index] = rollup.getWorkoutCount();
+            series.counts[Metric.CARDIO_MINUTES.column()][index] = rollup.getCardioMinutes();
+            series.counts[Metric.STRENGTH_MINUTES.column()][index] = rollup.getStrengthMinutes();
+            series.counts[Metric.YOGA_MINUTES.column()][index] = rollup.getYogaMinutes();
+            series.counts[Metric.OTHER_MINUTES.column()][index] = rollup.getOtherMinutes();
+            series.macros[Metric.PROTEIN.column()][index] = (float) rollup.getProtein();
+            series.macros[Metric.CARBS.column()][index] = (float) rollup.getCarbs();
+            series.macros[Metric.FAT.column()][index] = (float) rollup.getFat();
+            if (rollup.getLastWeightKg() != null) {
+                series.weights[index - 1] = rollup.getLastWeightKg().floatValue();
+            }
+        }
+        for (int[] tree : series.counts) {
+            heapify(tree);
+        }
+        for (float[] tree : series.macros) {
+            heapify(tree);
+        }
+        return series;
+    }
+
+    public LocalDate firstDate() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    public LocalDate lastDate() {
+        return LocalDate.ofEpochDay(firstDay + days - 1);
+    }
+
+    public boolean covers(LocalDate date) {
+        long day = date.toEpochDay();
+        return day >= firstDay && day < firstDay + days;
+    }
+
+    public double sum(Metric metric, LocalDate start, LocalDate end) {
+        long from = Math.max(start.toEpochDay(), firstDay);
+        long to = Math.min(end.toEpochDay(), firstDay + days - 1);
+        if (from > to) {
+            return 0;
+        }
+        int low = (int) (from - firstDay);
+        int high = (int) (to - firstDay) + 1;
+        lock.readLock().lock();
+        try {
+            if (metric.integral()) {
+                int[] tree = counts[metric.column()];
+                return (double) prefix(tree, high) - prefix(tree, low);
+            }
+            float[] tree = macros[metric.column()];
+            return prefix(tree, high) - prefix(tree, low);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public BigDecimal firstWeight(LocalDate start, LocalDate end) {
+        return weight(start, end, true);
+    }
+
+    public BigDecimal lastWeight(LocalDate start, LocalDate end) {
+        return weight(start, end, false);
+    }
+
+    boolean apply(LocalDate date, RollupDelta delta, BigDecimal weightKg) {
+        if (!covers(date)) {
+            return false;
+        }
+        int index = 1 + (int) (date.toEpochDay() - firstDay);
+        lock.writeLock().lock();
+        try {
+            if (delta != null && !delta.isZero()) {
+                add(counts[Metric.CALORIES_IN.column()], index, delta.caloriesIn());
+                add(counts[Metric.CALORIES_OUT.column()], index, delta.caloriesOut());
+                add(counts[Metric.WORKOUTS.column()], index, delta.workoutCount());
+                add(counts[Metric.CARDIO_MINUTES.column()], index, delta.cardioMinutes());
+                add(counts[Metric.STRENGTH_MINUTES.column()], index, delta.strengthMinutes());
+                add(counts[Metric.YOGA_MINUTES.column()], index, delta.yogaMinutes());
+                add(counts[Metric.OTHER_MINUTES.column()], index, delta.otherMinutes());
+                add(macros[Metric.PROTEIN.column()], index, (float) delta.protein());
+                add(macros[Metric.CARBS.column()], index, (float) delta.carbs());
+                add(macros[Metric.FAT.column()], index, (float) delta.fat());
+            }
+            if (weightKg != null) {
+                weights[index - 1] = weightKg.floatValue();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    int estimatedBytes() {
+        return 64 + (counts.length + macros.length) * (16 + (days + 1) * 4) + 16 + days * 4;
+    }
+
+    private BigDecimal weight(LocalDate start, LocalDate end, boolean first) {
+        long from = Math.max(start.toEpochDay(), firstDay);
+        long to = Math.min(end.toEpochDay(), firstDay + days - 1);
+        if (from > to) {
+            return null;
+        }
+        int low = (int) (from - firstDay);
+        int high = (int) (to - firstDay);
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i <= high - low; i++) {
+                float weight = weights[first ? low + i : high - i];
+                if (!Float.isNaN(weight)) {
+                    return BigDecimal.valueOf(weight).setScale(2, RoundingMode.HALF_UP);
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void heapify(int[] tree) {
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private static void heapify(float[] tree) {
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private static void add(int[] tree, int index, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static void add(float[] tree, int index, float delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (int i = index; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private static long prefix(int[] tree, int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static double prefix(float[] tree, int index) {
+        double sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.repository.UserDailyRollupRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class UserMetricsStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserMetricsStore.class);
+    private static final int GENERATION_STRIPES = 256;
+
+    private final UserDailyRollupRepository rollupRepository;
+    private final FitnessAppProperties.Reports reports;
+    private final Cache<UUID, UserMetricsSeries> series;
+    private final Counter hits;
+    private final Counter loads;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public UserMetricsStore(
+        UserDailyRollupRepository rollupRepository,
+        FitnessAppProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.rollupRepository = rollupRepository;
+        this.reports = properties.getReports();
+        this.series = Caffeine.newBuilder()
+            .maximumWeight(reports.getMetricsIndexMaximumBytes())
+            .weigher((UUID userId, UserMetricsSeries value) -> value.estimatedBytes())
+            .expireAfterWrite(reports.getMetricsIndexExpireAfterWrite())
+            .softValues()
+            .build();
+        this.hits = meterRegistry.counter("fitnessapp.reports.metrics.index", "result", "hit");
+        this.loads = meterRegistry.counter("fitnessapp.reports.metrics.index", "result", "load");
+        meterRegistry.gauge("fitnessapp.reports.metrics.index.users", series, cache -> cache.estimatedSize());
+    }
+
+    public boolean isEnabled() {
+        return reports.isMetricsIndexEnabled();
+    }
+
+    public UserMetricsSeries get(UUID userId) {
+        UserMetricsSeries cached = series.getIfPresent(userId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        UserMetricsSeries loaded = load(userId);
+        // Installing under the key's lock orders this against onRollupChanged's invalidate, so a series
+        // that missed a change is either never cached or dropped right after.
+        UserMetricsSeries installed = series.asMap().compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return generations.get(stripe) == generation ? loaded : null;
+        });
+        return installed != null ? installed : loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupChanged(UserRollupChangedEvent event) {
+        generations.incrementAndGet(stripe(event.userId()));
+        // A series loaded after the commit already holds this change, so drop it rather than apply the delta twice.
+        series.invalidate(event.userId());
+        logger.debug("Dropped metrics series after a rollup change on {} for user ID: {}", event.date(), event.userId());
+    }
+
+    public void invalidateAll() {
+        series.invalidateAll();
+    }
+
+    private static int stripe(UUID userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private UserMetricsSeries load(UUID userId) {
+        UserMetricsSeries loaded = UserMetricsSeries.build(
+            rollupRepository.findByIdUserIdOrderByIdDateAsc(userId),
+            LocalDate.now(),
+            reports.getMetricsIndexHeadroomDays()
+        );
+        loads.increment();
+        logger.debug("Loaded metrics series for user ID: {} covering {} to {}", userId, loaded.firstDate(), loaded.lastDate());
+        return loaded;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.RollupDelta;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record UserRollupChangedEvent(UUID userId, LocalDate date, RollupDelta delta, BigDecimal weightKg) {}
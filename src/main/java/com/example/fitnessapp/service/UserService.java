@@ -3,6 +3,7 @@ package com.example.fitnessapp.service;
 import com.example.fitnessapp.entities.Role;
 import com.example.fitnessapp.entities.User;
 import com.example.fitnessapp.repository.UserRepository;
+import com.example.fitnessapp.security.AppUserDetails;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.UUID;
@@ -80,13 +81,11 @@ public class UserService implements UserDetailsService {
             .findByUsername(username)
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         boolean enabled = Boolean.TRUE.equals(user.getActive());
-        return new org.springframework.security.core.userdetails.User(
+        return new AppUserDetails(
+            user.getId(),
             user.getUsername(),
             user.getPassword(),
             enabled,
-            true,   
-            true,    
-            true,    
             user.getRoles().stream().map(role -> new SimpleGrantedAuthority(role.name())).collect(Collectors.toSet())
         );
     }
@@ -1,5 +1,6 @@
 package com.example.fitnessapp.service;
 
+import com.example.fitnessapp.dto.RollupDelta;
 import com.example.fitnessapp.entities.User;
 import com.example.fitnessapp.entities.Workout;
 import com.example.fitnessapp.entities.WorkoutType;
@@ -22,15 +23,18 @@ public class WorkoutService {
     private final WorkoutRepository workoutRepository;
     private final UserRepository userRepository;
     private final DailyLogService dailyLogService;
+    private final UserDailyRollupService rollupService;
 
     public WorkoutService(
         WorkoutRepository workoutRepository,
         UserRepository userRepository,
-        DailyLogService dailyLogService
+        DailyLogService dailyLogService,
+        UserDailyRollupService rollupService
     ) {
         this.workoutRepository = workoutRepository;
         this.userRepository = userRepository;
         this.dailyLogService = dailyLogService;
+        this.rollupService = rollupService;
     }
 
     @Transactional
@@ -42,7 +46,9 @@ public class WorkoutService {
             workout.setCaloriesBurned(estimateCaloriesBurned(user, workout));
         }
         Workout saved = workoutRepository.save(workout);
-        recalculateLog(saved);
+        LocalDate date = saved.getDateTime().toLocalDate();
+        dailyLogService.applyWorkoutCaloriesDelta(userId, date, caloriesOf(saved));
+        rollupService.apply(userId, date, RollupDelta.ofWorkout(saved));
         logger.info("Workout added successfully with ID: {}", saved.getId());
         return saved;
     }
@@ -51,6 +57,9 @@ public class WorkoutService {
     public Workout updateWorkout(UUID workoutId, Workout updates, boolean autoEstimateCalories) {
         logger.info("Updating workout ID: {}", workoutId);
         Workout workout = requireWorkout(workoutId);
+        LocalDate previousDate = workout.getDateTime().toLocalDate();
+        int previousCalories = caloriesOf(workout);
+        RollupDelta previous = RollupDelta.ofWorkout(workout);
         if (updates.getType() != null) {
             workout.setType(updates.getType());
         }
@@ -69,7 +78,17 @@ public class WorkoutService {
             workout.setNotes(updates.getNotes());
         }
         Workout saved = workoutRepository.save(workout);
-        recalculateLog(saved);
+        UUID userId = saved.getUser().getId();
+        LocalDate date = saved.getDateTime().toLocalDate();
+        if (date.equals(previousDate)) {
+            dailyLogService.applyWorkoutCaloriesDelta(userId, date, caloriesOf(saved) - previousCalories);
+            rollupService.apply(userId, date, RollupDelta.ofWorkout(saved).minus(previous));
+        } else {
+            dailyLogService.applyWorkoutCaloriesDeltaIfLogged(userId, previousDate, -previousCalories);
+            dailyLogService.applyWorkoutCaloriesDelta(userId, date, caloriesOf(saved));
+            rollupService.apply(userId, previousDate, previous.negate());
+            rollupService.apply(userId, date, RollupDelta.ofWorkout(saved));
+        }
         logger.info("Workout updated successfully: {}", workoutId);
         return saved;
     }
@@ -80,8 +99,11 @@ public class WorkoutService {
         Workout workout = requireWorkout(workoutId);
         LocalDate date = workout.getDateTime().toLocalDate();
         UUID userId = workout.getUser().getId();
+        int calories = caloriesOf(workout);
+        RollupDelta removed = RollupDelta.ofWorkout(workout).negate();
         workoutRepository.delete(workout);
-        dailyLogService.computeDailyTotals(userId, date);
+        dailyLogService.applyWorkoutCaloriesDelta(userId, date, -calories);
+        rollupService.apply(userId, date, removed);
         logger.info("Workout deleted successfully: {}", workoutId);
     }
 
@@ -91,9 +113,8 @@ public class WorkoutService {
         return workoutRepository.findByUserAndDateBetween(user, start, end);
     }
 
-    private void recalculateLog(Workout workout) {
-        LocalDate date = workout.getDateTime().toLocalDate();
-        dailyLogService.computeDailyTotals(workout.getUser().getId(), date);
+    private int caloriesOf(Workout workout) {
+        return workout.getCaloriesBurned() != null ? workout.getCaloriesBurned() : 0;
     }
 
     private Workout requireWorkout(UUID workoutId) {
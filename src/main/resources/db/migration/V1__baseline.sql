@@ -0,0 +1,72 @@
+create table users (
+    id binary(16) not null,
+    username varchar(30) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    age integer,
+    gender enum ('M','F','OTHER'),
+    height_cm integer,
+    current_weight_kg decimal(6,2),
+    goal enum ('LOSE','GAIN','MAINTAIN'),
+    active bit not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id binary(16) not null,
+    role enum ('ROLE_USER','ROLE_ADMIN') not null,
+    primary key (user_id, role),
+    constraint fk_user_roles_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table daily_logs (
+    id binary(16) not null,
+    user_id binary(16) not null,
+    date date not null,
+    total_calories_in integer,
+    total_calories_out integer,
+    notes varchar(1000),
+    primary key (id),
+    constraint uk_daily_logs_user_date unique (user_id, date),
+    constraint fk_daily_logs_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table meals (
+    id binary(16) not null,
+    daily_log_id binary(16) not null,
+    meal_type enum ('BREAKFAST','LUNCH','DINNER','SNACK') not null,
+    food_name varchar(255) not null,
+    serving_size varchar(255) not null,
+    calories integer,
+    protein float(23),
+    carbs float(23),
+    fats float(23),
+    primary key (id),
+    constraint fk_meals_daily_log foreign key (daily_log_id) references daily_logs (id)
+) engine=InnoDB;
+
+create table workouts (
+    id binary(16) not null,
+    user_id binary(16) not null,
+    date_time datetime(6) not null,
+    type enum ('CARDIO','STRENGTH','YOGA','OTHER') not null,
+    duration_minutes integer,
+    calories_burned integer,
+    notes varchar(1000),
+    primary key (id),
+    constraint fk_workouts_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table progress_entries (
+    id binary(16) not null,
+    user_id binary(16) not null,
+    date date not null,
+    weight_kg decimal(6,2),
+    measurement_notes varchar(1000),
+    primary key (id),
+    constraint fk_progress_entries_user foreign key (user_id) references users (id)
+) engine=InnoDB;
@@ -0,0 +1,7 @@
+create table if not exists latest_progress (
+    user_id binary(16) not null,
+    progress_id binary(16) not null,
+    date date not null,
+    weight_kg decimal(6,2),
+    primary key (user_id)
+) engine=InnoDB;
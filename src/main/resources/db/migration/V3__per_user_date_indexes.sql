@@ -0,0 +1,7 @@
+create index idx_workouts_user_date_time on workouts (user_id, date_time, calories_burned);
+
+create index idx_progress_entries_user_date on progress_entries (user_id, date, weight_kg);
+
+create index idx_meals_daily_log_calories on meals (daily_log_id, calories);
+
+create index idx_daily_logs_date on daily_logs (date);
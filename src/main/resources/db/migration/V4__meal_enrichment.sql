@@ -0,0 +1,16 @@
+alter table meals add column enrichment_status enum ('NOT_REQUIRED','PENDING','COMPLETED','FAILED') not null default 'NOT_REQUIRED';
+
+create table meal_enrichment_tasks (
+    id binary(16) not null,
+    meal_id binary(16) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    lease_owner varchar(64),
+    lease_expires_at datetime(6),
+    last_error varchar(500),
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_meal_enrichment_tasks_meal unique (meal_id)
+) engine=InnoDB;
+
+create index idx_meal_enrichment_tasks_due on meal_enrichment_tasks (next_attempt_at, lease_expires_at);
@@ -0,0 +1,18 @@
+create table user_daily_rollup (
+    user_id binary(16) not null,
+    date date not null,
+    calories_in integer not null,
+    calories_out integer not null,
+    protein float(53) not null,
+    carbs float(53) not null,
+    fat float(53) not null,
+    workout_count integer not null,
+    cardio_minutes integer not null,
+    strength_minutes integer not null,
+    yoga_minutes integer not null,
+    other_minutes integer not null,
+    last_weight_kg decimal(6,2),
+    primary key (user_id, date)
+) engine=InnoDB;
+
+create index idx_user_daily_rollup_date on user_daily_rollup (date);
@@ -0,0 +1,8 @@
+insert into latest_progress (user_id, progress_id, date, weight_kg)
+select p.user_id, p.id, p.date, p.weight_kg
+from progress_entries p
+where not exists (
+    select 1 from progress_entries newer
+    where newer.user_id = p.user_id
+      and (newer.date > p.date or (newer.date = p.date and newer.id > p.id))
+);
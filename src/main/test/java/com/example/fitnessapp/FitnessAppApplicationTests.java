@@ -1,13 +0,0 @@
-package com.example.fitnessapp;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
-
-@SpringBootTest
-class FitnessAppApplicationTests {
-
-    @Test
-    void contextLoads() {
-    }
-
-}
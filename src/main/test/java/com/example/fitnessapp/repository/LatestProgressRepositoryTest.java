@@ -0,0 +1,57 @@
+package com.example.fitnessapp.repository;
+
+import com.example.fitnessapp.entities.LatestProgress;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(excludeAutoConfiguration = {FeignAutoConfiguration.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LatestProgressRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LatestProgressRepository latestProgressRepository;
+
+    @Test
+    void insertIfAbsentKeepsAnExistingRow() {
+        UUID userId = UUID.randomUUID();
+        UUID firstProgressId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+
+        assertEquals(1, latestProgressRepository.insertIfAbsent(userId, firstProgressId, today, new BigDecimal("80.00")));
+        latestProgressRepository.insertIfAbsent(userId, UUID.randomUUID(), today.minusDays(1), new BigDecimal("81.00"));
+        entityManager.clear();
+
+        LatestProgress latest = latestProgressRepository.findById(userId).orElseThrow();
+        assertEquals(firstProgressId, latest.getProgressId());
+        assertEquals(new BigDecimal("80.00"), latest.getWeightKg());
+    }
+
+    @Test
+    void advanceOnlyMovesForward() {
+        UUID userId = UUID.randomUUID();
+        UUID newestProgressId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        latestProgressRepository.insertIfAbsent(userId, UUID.randomUUID(), today.minusDays(2), new BigDecimal("82.00"));
+
+        assertEquals(1, latestProgressRepository.advance(userId, newestProgressId, today, new BigDecimal("80.50")));
+        assertEquals(0, latestProgressRepository.advance(userId, UUID.randomUUID(), today.minusDays(1), new BigDecimal("81.00")));
+        entityManager.clear();
+
+        LatestProgress latest = latestProgressRepository.findById(userId).orElseThrow();
+        assertEquals(newestProgressId, latest.getProgressId());
+        assertEquals(today, latest.getDate());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.fitnessapp.repository;
+
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealType;
+import com.example.fitnessapp.entities.Progress;
+import com.example.fitnessapp.entities.Role;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.entities.Workout;
+import com.example.fitnessapp.entities.WorkoutType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(excludeAutoConfiguration = {FeignAutoConfiguration.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final int USERS = 20;
+    private static final int DAYS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID userId;
+    private UUID dailyLogId;
+    private LocalDate today;
+
+    @BeforeAll
+    void setUp() {
+        today = LocalDate.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int u = 0; u < USERS; u++) {
+                User user = new User();
+                user.setUsername("planuser" + u);
+                user.setEmail("plan" + u + "@example.com");
+                user.setPassword("password123");
+                user.setRoles(Set.of(Role.ROLE_USER));
+                user.setActive(true);
+                entityManager.persist(user);
+
+                for (int d = 0; d < DAYS; d++) {
+                    LocalDate date = today.minusDays(d);
+                    DailyLog log = new DailyLog();
+                    log.setUser(user);
+                    log.setDate(date);
+                    log.setTotalCaloriesIn(0);
+                    log.setTotalCaloriesOut(0);
+                    entityManager.persist(log);
+
+                    Meal meal = new Meal();
+                    meal.setDailyLog(log);
+                    meal.setMealType(MealType.LUNCH);
+                    meal.setFoodName("Food " + d);
+                    meal.setServingSize("100g");
+                    meal.setCalories(300);
+                    entityManager.persist(meal);
+
+                    Workout workout = new Workout();
+                    workout.setUser(user);
+                    workout.setDateTime(date.atTime(7, 0));
+                    workout.setType(WorkoutType.CARDIO);
+                    workout.setDurationMinutes(30);
+                    workout.setCaloriesBurned(250);
+                    entityManager.persist(workout);
+
+                    Progress progress = new Progress();
+                    progress.setUser(user);
+                    progress.setDate(date);
+                    progress.setWeightKg(BigDecimal.valueOf(80));
+                    entityManager.persist(progress);
+
+                    if (u == 0 && d == 0) {
+                        userId = user.getId();
+                        dailyLogId = log.getId();
+                    }
+                }
+            }
+        });
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void tearDown() {
+        for (String table : List.of("meals", "daily_logs", "workouts", "progress_entries", "user_roles", "users")) {
+            jdbcTemplate.update("delete from " + table);
+        }
+    }
+
+    @Test
+    void dailyLogRangeUsesUserDateIndex() {
+        assertNoFullScan(
+            "select * from daily_logs where user_id = ? and date between ? and ?",
+            userId, today.minusDays(7), today
+        );
+    }
+
+    @Test
+    void workoutRangeUsesUserDateTimeIndex() {
+        assertNoFullScan(
+            "select * from workouts where user_id = ? and date_time >= ? and date_time < ?",
+            userId, today.minusDays(7).atStartOfDay(), today.plusDays(1).atStartOfDay()
+        );
+    }
+
+    @Test
+    void progressRangeUsesUserDateIndex() {
+        assertNoFullScan(
+            "select * from progress_entries where user_id = ? and date between ? and ?",
+            userId, today.minusDays(7), today
+        );
+    }
+
+    @Test
+    void mealsForUserAndDateUseDailyLogIndexes() {
+        assertNoFullScan(
+            "select m.* from meals m join daily_logs d on m.daily_log_id = d.id where d.user_id = ? and d.date = ?",
+            userId, today
+        );
+    }
+
+    @Test
+    void mealCaloriesSumUsesDailyLogIndex() {
+        assertNoFullScan(
+            "select m.daily_log_id, sum(m.calories) from meals m where m.daily_log_id in (?) group by m.daily_log_id",
+            dailyLogId
+        );
+    }
+
+    private void assertNoFullScan(String sql, Object... parameters) {
+        List<String> rows = jdbcTemplate.queryForList("explain " + sql, String.class, parameters);
+        String plan = String.join("", rows);
+        assertFalse(plan.contains("tableScan"), () -> "Full table scan in plan:\n" + plan);
+    }
+}
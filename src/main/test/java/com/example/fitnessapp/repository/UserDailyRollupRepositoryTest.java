@@ -0,0 +1,43 @@
+package com.example.fitnessapp.repository;
+
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(excludeAutoConfiguration = {FeignAutoConfiguration.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserDailyRollupRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserDailyRollupRepository rollupRepository;
+
+    @Test
+    void insertIfAbsentLeavesAnExistingRowsTotalsAlone() {
+        UUID userId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+
+        rollupRepository.insertIfAbsent(userId, today);
+        rollupRepository.applyDelta(userId, today, 300, 0, 0, 0, 0, 1, 20, 0, 0, 0);
+        rollupRepository.insertIfAbsent(userId, today);
+        rollupRepository.applyDelta(userId, today, 200, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        entityManager.clear();
+
+        UserDailyRollup rollup = rollupRepository.findById(new UserDailyRollupId(userId, today)).orElseThrow();
+        assertEquals(500, rollup.getCaloriesIn());
+        assertEquals(1, rollup.getWorkoutCount());
+        assertEquals(20, rollup.getCardioMinutes());
+    }
+}
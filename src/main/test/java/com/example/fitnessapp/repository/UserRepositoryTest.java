@@ -16,7 +16,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest(
     excludeAutoConfiguration = {FeignAutoConfiguration.class},
-    properties = {"spring.jpa.hibernate.ddl-auto=create-drop"}
+    properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"}
 )
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class UserRepositoryTest {
@@ -0,0 +1,59 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodDto;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.dto.NutrientVector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSnapshotCodecTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsAllSections() throws IOException {
+        CacheSnapshotCodec.Snapshot snapshot = new CacheSnapshotCodec.Snapshot(
+            Instant.now().truncatedTo(ChronoUnit.MILLIS),
+            List.of(new NutrientVector(UUID.randomUUID(), "Crème fraîche", 2.92, 0.024, 0.028, 0.3, 0, 30)),
+            Map.of("rice", new FoodSearchResult(List.of(
+                new FoodSearchResponse.FoodSearchItem("1", "Rice", "100g", 130),
+                new FoodSearchResponse.FoodSearchItem("2", "Rice Cake", null, null)
+            ), true)),
+            Map.of(7L, new FoodDto(7L, "Oats", "40g", 150, 5f, null, 3f))
+        );
+        Path file = directory.resolve("snapshot.bin");
+
+        long bytes = CacheSnapshotCodec.write(snapshot, file);
+        CacheSnapshotCodec.Snapshot restored = CacheSnapshotCodec.read(file);
+
+        assertEquals(Files.size(file), bytes);
+        assertEquals(snapshot, restored);
+    }
+
+    @Test
+    void rejectsCorruptedFiles() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        CacheSnapshotCodec.write(new CacheSnapshotCodec.Snapshot(
+            Instant.now(), List.of(), Map.of("a", new FoodSearchResult(List.of(), true)), Map.of()
+        ), file);
+        byte[] content = Files.readAllBytes(file);
+        content[content.length - 12] ^= 0x5A;
+        Files.write(file, content, StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertThrows(IOException.class, () -> CacheSnapshotCodec.read(file));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealType;
+import com.example.fitnessapp.entities.Role;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.entities.Workout;
+import com.example.fitnessapp.entities.WorkoutType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(
+    excludeAutoConfiguration = {FeignAutoConfiguration.class},
+    properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"}
+)
+@Import({
+    DailyLogService.class,
+    UserDailyRollupService.class,
+    UserMetricsStore.class,
+    SimpleMeterRegistry.class,
+    FitnessAppProperties.class
+})
+class DailyTotalsBenchmarkTest {
+
+    private static final int MEALS_PER_DAY = 200;
+    private static final int WORKOUTS_PER_DAY = 10;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailyLogService dailyLogService;
+
+    @Autowired
+    private FitnessAppProperties properties;
+
+    private User user;
+    private DailyLog log;
+    private LocalDate today;
+    private int expectedIn;
+    private int expectedOut;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+
+        user = new User();
+        user.setUsername("benchuser");
+        user.setEmail("bench@example.com");
+        user.setPassword("password123");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user.setActive(true);
+        entityManager.persist(user);
+
+        log = new DailyLog();
+        log.setUser(user);
+        log.setDate(today);
+        log.setTotalCaloriesIn(0);
+        log.setTotalCaloriesOut(0);
+        entityManager.persist(log);
+
+        for (int i = 0; i < MEALS_PER_DAY; i++) {
+            Meal meal = new Meal();
+            meal.setDailyLog(log);
+            meal.setMealType(MealType.values()[i % MealType.values().length]);
+            meal.setFoodName("Food " + i);
+            meal.setServingSize("100g");
+            meal.setCalories(100 + i);
+            entityManager.persist(meal);
+            expectedIn += 100 + i;
+        }
+        for (int i = 0; i < WORKOUTS_PER_DAY; i++) {
+            Workout workout = new Workout();
+            workout.setUser(user);
+            workout.setDateTime(today.atTime(6 + i, 0));
+            workout.setType(WorkoutType.CARDIO);
+            workout.setDurationMinutes(30);
+            workout.setCaloriesBurned(250);
+            entityManager.persist(workout);
+            expectedOut += 250;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        dailyLogService.computeDailyTotals(user.getId(), today);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void incrementalDeltasMatchFullRecomputeWithFewerStatements() {
+        properties.getTotals().setIncremental(false);
+        long recomputeStatements = statementsPerOperation(() -> dailyLogService.computeDailyTotals(user.getId(), today));
+        assertTotals(expectedIn, expectedOut);
+
+        properties.getTotals().setIncremental(true);
+        DailyLog reference = entityManager.find(DailyLog.class, log.getId());
+        long incrementalStatements = statementsPerOperation(() -> {
+            dailyLogService.applyMealCaloriesDelta(reference, 15);
+            dailyLogService.applyWorkoutCaloriesDelta(user.getId(), today, 5);
+        });
+        assertTotals(expectedIn + 15 * ITERATIONS, expectedOut + 5 * ITERATIONS);
+        assertTrue(incrementalStatements < recomputeStatements,
+            () -> "incremental " + incrementalStatements + " vs recompute " + recomputeStatements + " statements per operation");
+
+        int repaired = dailyLogService.reconcileTotals(today, today);
+        assertEquals(1, repaired);
+        assertTotals(expectedIn, expectedOut);
+    }
+
+    private long statementsPerOperation(Runnable operation) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return statements / ITERATIONS;
+    }
+
+    private void assertTotals(int caloriesIn, int caloriesOut) {
+        entityManager.clear();
+        DailyLog reloaded = entityManager.find(DailyLog.class, log.getId());
+        assertEquals(caloriesIn, reloaded.getTotalCaloriesIn());
+        assertEquals(caloriesOut, reloaded.getTotalCaloriesOut());
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.client.ResilientFoodClient;
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.FoodDto;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.dto.MicroserviceFoodPageResponse;
+import com.example.fitnessapp.dto.NutrientVector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FoodCacheInvalidatorTest {
+
+    private static final String RICE_ID = "6f1c2a3e-4b5d-4c6e-8f70-819a2b3c4d5e";
+    private static final String RICOTTA_ID = "0a9b8c7d-6e5f-4a3b-9c2d-1e0f9a8b7c6d";
+
+    private static final FoodSearchResponse.FoodSearchItem RICE = item(RICE_ID, "Rice");
+    private static final FoodSearchResponse.FoodSearchItem RICOTTA = item(RICOTTA_ID, "Ricotta");
+    private static final FoodSearchResponse.FoodSearchItem CHICKEN = item("5d4c3b2a-1f0e-4d9c-8b7a-6f5e4d3c2b1a", "Chicken Breast");
+
+    private CaffeineCacheManager cacheManager;
+    private Cache searches;
+    private Cache foods;
+    private NutrientVectorCache nutrientVectors;
+    private FoodCatalogReplica catalogReplica;
+    private FoodCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(FoodSearchCache.CACHE_NAME, FoodCacheInvalidator.FOOD_CACHE_NAME);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FitnessAppProperties properties = new FitnessAppProperties();
+        FoodSearchCache searchCache = new FoodSearchCache(cacheManager, properties, registry);
+        nutrientVectors = new NutrientVectorCache(properties, registry);
+        catalogReplica = mock(FoodCatalogReplica.class);
+        invalidator = new FoodCacheInvalidator(cacheManager, searchCache, nutrientVectors, catalogReplica, registry);
+
+        searches = cacheManager.getCache(FoodSearchCache.CACHE_NAME);
+        foods = cacheManager.getCache(FoodCacheInvalidator.FOOD_CACHE_NAME);
+        searches.put("rice", new FoodSearchResult(List.of(RICE), true));
+        searches.put("ri", new FoodSearchResult(List.of(RICE, RICOTTA), true));
+        searches.put("chicken", new FoodSearchResult(List.of(CHICKEN), true));
+        searches.put("ricotta", new FoodSearchResult(List.of(RICOTTA), false));
+        searches.put("brown", new FoodSearchResult(List.of(item("c3d4e5f6-a7b8-4c9d-8e0f-1a2b3c4d5e6f", "Brown Sugar")), false));
+        searches.put("bro", new FoodSearchResult(List.of(item("f6e5d4c3-b2a1-4f0e-9d8c-7b6a5f4e3d2c", "Broccoli")), true));
+        foods.put(1L, new FoodDto(1L, "Rice", "100g", 130, 2.7f, 28f, 0.3f));
+        foods.put(2L, new FoodDto(2L, "Ricotta", "100g", 174, 11f, 3f, 13f));
+    }
+
+    @Test
+    void adminEditOnlyTouchesEntriesForTheChangedFood() {
+        invalidator.foodUpdated(1L, invalidator.cachedFood(1L), new FoodDto(1L, "Brown Rice", "100g", 123, 2.6f, 25.6f, 1f));
+
+        assertNull(foods.get(1L));
+        assertNotNull(foods.get(2L));
+
+        assertEquals(List.of("Brown Rice"), names("rice"));
+        assertEquals(List.of("Brown Rice", "Ricotta"), names("ri"));
+        assertEquals(List.of("Broccoli", "Brown Rice"), names("bro"));
+        assertNull(searches.get("brown"));
+
+        assertEquals(List.of("Chicken Breast"), names("chicken"));
+        assertEquals(List.of("Ricotta"), names("ricotta"));
+
+        assertEquals(List.of(RICE_ID), ids("rice"));
+        assertEquals(List.of(RICE_ID, RICOTTA_ID), ids("ri"));
+        assertTrue(ids("bro").contains(RICE_ID));
+    }
+
+    @Test
+    void renameAwayFromAQueryRemovesTheItemFromCompletePages() {
+        invalidator.foodUpdated(1L, invalidator.cachedFood(1L), new FoodDto(1L, "Basmati", "100g", 130, 2.7f, 28f, 0.3f));
+
+        assertEquals(List.of(), names("rice"));
+        assertEquals(List.of("Ricotta"), names("ri"));
+        assertEquals(List.of("Chicken Breast"), names("chicken"));
+    }
+
+    @Test
+    void resolvesTheCatalogIdFromTheNutrientVectorAndEvictsIt() {
+        UUID riceId = UUID.fromString(RICE_ID);
+        nutrientVectors.put(new NutrientVector(riceId, "Rice", 1.3, 0.027, 0.28, 0.003, 0.004, 100));
+        searches.put("rice", new FoodSearchResult(List.of(item(RICE_ID, "White rice")), true));
+
+        invalidator.foodUpdated(1L, new FoodDto(1L, "Rice", "100g", 130, 2.7f, 28f, 0.3f),
+            new FoodDto(1L, "Basmati", "100g", 130, 2.7f, 28f, 0.3f));
+
+        assertNull(nutrientVectors.peekByName("Rice"));
+        assertNull(nutrientVectors.findById(riceId));
+        assertEquals(List.of(), names("rice"));
+    }
+
+    @Test
+    void resolvesTheCatalogIdFromTheReplica() {
+        searches.put("rice", new FoodSearchResult(List.of(item(RICE_ID, "White rice")), true));
+        when(catalogReplica.findIdByName("rice")).thenReturn(Optional.of(RICE_ID));
+
+        invalidator.foodUpdated(1L, new FoodDto(1L, "Rice", "100g", 130, 2.7f, 28f, 0.3f),
+            new FoodDto(1L, "Basmati", "100g", 130, 2.7f, 28f, 0.3f));
+
+        assertEquals(List.of(), names("rice"));
+    }
+
+    @Test
+    void createdFoodIsNeverAppendedUnderItsAdminId() {
+        invalidator.foodCreated(new FoodDto(9L, "Rice Cake", "100g", 387, 8f, 81f, 2.8f));
+
+        assertNull(searches.get("rice"));
+        assertNull(searches.get("ri"));
+        assertEquals(List.of("Chicken Breast"), names("chicken"));
+    }
+
+    @Test
+    void unknownPreviousFoodClearsTheSearchCache() {
+        invalidator.foodUpdated(7L, null, new FoodDto(7L, "Quinoa", "100g", 120, 4.4f, 21f, 1.9f));
+
+        assertNull(searches.get("rice"));
+        assertNull(searches.get("chicken"));
+    }
+
+    @Test
+    void editsAndCreationsRequestABackgroundSyncOfTheCatalogReplica() {
+        invalidator.foodUpdated(1L, invalidator.cachedFood(1L), new FoodDto(1L, "Brown Rice", "100g", 123, 2.6f, 25.6f, 1f));
+        invalidator.foodCreated(new FoodDto(9L, "Rice Cake", "100g", 387, 8f, 81f, 2.8f));
+
+        verify(catalogReplica, times(2)).markStale();
+        verify(catalogReplica, times(2)).requestSync();
+    }
+
+    @Test
+    void editedFoodIsServedLiveUntilTheBackgroundSyncCatchesUp() throws InterruptedException {
+        ResilientFoodClient foodClient = mock(ResilientFoodClient.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FitnessAppProperties properties = new FitnessAppProperties();
+        FoodCatalogReplica replica = new FoodCatalogReplica(
+            foodClient, nutrientVectors, mock(FoodPopularity.class), properties, registry
+        );
+        FoodCacheInvalidator replicaInvalidator = new FoodCacheInvalidator(
+            cacheManager, new FoodSearchCache(cacheManager, properties, registry), nutrientVectors, replica, registry
+        );
+        when(foodClient.listFoods(0, 200, "id,asc")).thenReturn(page(catalogItem("Rice", "2024-01-01T00:00:00")));
+        replica.sync();
+        when(foodClient.listFoods(0, 200, "updatedAt,desc")).thenReturn(page(catalogItem("Basmati", "2024-02-01T00:00:00")));
+
+        replicaInvalidator.foodUpdated(1L, invalidator.cachedFood(1L), new FoodDto(1L, "Basmati", "100g", 130, 2.7f, 28f, 0.3f));
+        awaitFresh(replica);
+
+        assertEquals(List.of("Basmati"), replica.search("basm", 10).orElseThrow().stream().map(FoodSearchResponse.FoodSearchItem::name).toList());
+        assertEquals(List.of(), replica.search("rice", 10).orElseThrow());
+        assertEquals(List.of("Basmati"), replica.allFoods().orElseThrow().stream().map(FoodSearchResponse.FoodSearchItem::name).toList());
+    }
+
+    @Test
+    void failedBackgroundSyncKeepsTheEditedReplicaStale() {
+        ResilientFoodClient foodClient = mock(ResilientFoodClient.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FitnessAppProperties properties = new FitnessAppProperties();
+        FoodCatalogReplica replica = new FoodCatalogReplica(
+            foodClient, nutrientVectors, mock(FoodPopularity.class), properties, registry
+        );
+        FoodCacheInvalidator replicaInvalidator = new FoodCacheInvalidator(
+            cacheManager, new FoodSearchCache(cacheManager, properties, registry), nutrientVectors, replica, registry
+        );
+        when(foodClient.listFoods(0, 200, "id,asc")).thenReturn(page(catalogItem("Rice", "2024-01-01T00:00:00")));
+        replica.sync();
+        when(foodClient.listFoods(0, 200, "updatedAt,desc")).thenThrow(new IllegalStateException("food service down"));
+
+        replicaInvalidator.foodUpdated(1L, invalidator.cachedFood(1L), new FoodDto(1L, "Basmati", "100g", 130, 2.7f, 28f, 0.3f));
+
+        assertFalse(replica.isFresh());
+        assertTrue(replica.search("rice", 10).isEmpty());
+        verify(foodClient, timeout(1000)).listFoods(0, 200, "updatedAt,desc");
+        replica.shutdown();
+        assertFalse(replica.isFresh());
+    }
+
+    private static void awaitFresh(FoodCatalogReplica replica) throws InterruptedException {
+        for (int i = 0; i < 200 && !replica.isFresh(); i++) {
+            Thread.sleep(5);
+        }
+        replica.shutdown();
+    }
+
+    private static MicroserviceFoodPageResponse page(MicroserviceFoodPageResponse.MicroserviceFoodItem item) {
+        return new MicroserviceFoodPageResponse(List.of(item), 1, 1, 0, 200, true, true, false, 1);
+    }
+
+    private static MicroserviceFoodPageResponse.MicroserviceFoodItem catalogItem(String name, String updatedAt) {
+        return new MicroserviceFoodPageResponse.MicroserviceFoodItem(
+            RICE_ID, name, null, 100, 130, 2.7, 28.0, 0.3, 0.4, "2024-01-01T00:00:00", updatedAt
+        );
+    }
+
+    private List<String> names(String query) {
+        FoodSearchResult result = searches.get(query, FoodSearchResult.class);
+        assertNotNull(result, query);
+        return result.foods().stream().map(FoodSearchResponse.FoodSearchItem::name).toList();
+    }
+
+    private List<String> ids(String query) {
+        FoodSearchResult result = searches.get(query, FoodSearchResult.class);
+        assertNotNull(result, query);
+        return result.foods().stream().map(FoodSearchResponse.FoodSearchItem::id).toList();
+    }
+
+    private static FoodSearchResponse.FoodSearchItem item(String id, String name) {
+        return new FoodSearchResponse.FoodSearchItem(id, name, "100g", 100);
+    }
+}
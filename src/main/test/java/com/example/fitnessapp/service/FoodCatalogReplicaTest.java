@@ -0,0 +1,99 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.client.ResilientFoodClient;
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.MicroserviceFoodPageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FoodCatalogReplicaTest {
+
+    private static final String RICE_ID = "6f1c2a3e-4b5d-4c6e-8f70-819a2b3c4d5e";
+    private static final String OATS_ID = "0a9b8c7d-6e5f-4a3b-9c2d-1e0f9a8b7c6d";
+
+    private ResilientFoodClient foodClient;
+    private FitnessAppProperties properties;
+    private FoodCatalogReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        foodClient = mock(ResilientFoodClient.class);
+        properties = new FitnessAppProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        replica = new FoodCatalogReplica(
+            foodClient, new NutrientVectorCache(properties, registry), mock(FoodPopularity.class), properties, registry
+        );
+    }
+
+    @Test
+    void fullSyncWithAMissingPageKeepsThePreviousSnapshot() {
+        when(foodClient.listFoods(0, 200, "id,asc"))
+            .thenReturn(page(List.of(item(RICE_ID, "Rice"), item(OATS_ID, "Oats")), 1))
+            .thenReturn(page(List.of(item(RICE_ID, "Rice")), 2));
+        when(foodClient.listFoods(1, 200, "id,asc")).thenReturn(null);
+        replica.sync();
+        Instant syncedAt = replica.syncedAt();
+
+        properties.getMicroservice().getFood().getCatalog().setFullSyncInterval(Duration.ZERO);
+        assertThrows(IllegalStateException.class, replica::sync);
+
+        assertEquals(syncedAt, replica.syncedAt());
+        assertEquals(List.of("Oats", "Rice"), replica.allFoods().orElseThrow().stream().map(FoodSearchResponse.FoodSearchItem::name).toList());
+    }
+
+    @Test
+    void fullSyncSkipsTheNutrientVectorOfAFoodWithAMalformedId() {
+        when(foodClient.listFoods(0, 200, "id,asc"))
+            .thenReturn(page(List.of(item(RICE_ID, "Rice"), item("legacy-42", "Oats")), 1));
+
+        replica.sync();
+
+        assertEquals(List.of("Oats", "Rice"), replica.allFoods().orElseThrow().stream().map(FoodSearchResponse.FoodSearchItem::name).toList());
+    }
+
+    @Test
+    void markStaleKeepsTheLastSnapshotForTheFullList() {
+        when(foodClient.listFoods(0, 200, "id,asc")).thenReturn(page(List.of(item(RICE_ID, "Rice")), 1));
+        replica.sync();
+        Instant syncedAt = replica.syncedAt();
+
+        replica.markStale();
+
+        assertTrue(replica.allFoods().isEmpty());
+        assertTrue(replica.search("rice", 10).isEmpty());
+        assertEquals(List.of("Rice"), replica.lastFoods().orElseThrow().stream().map(FoodSearchResponse.FoodSearchItem::name).toList());
+        assertEquals(syncedAt, replica.lastSyncedAt());
+    }
+
+    @Test
+    void requestSyncDoesNothingWhileTheCatalogIsDisabled() {
+        properties.getMicroservice().getFood().getCatalog().setEnabled(false);
+
+        replica.requestSync();
+        replica.shutdown();
+
+        verifyNoInteractions(foodClient);
+        assertTrue(replica.lastFoods().isEmpty());
+    }
+
+    private static MicroserviceFoodPageResponse page(List<MicroserviceFoodPageResponse.MicroserviceFoodItem> items, int totalPages) {
+        return new MicroserviceFoodPageResponse(items, items.size(), totalPages, 0, 200, true, totalPages == 1, items.isEmpty(), items.size());
+    }
+
+    private static MicroserviceFoodPageResponse.MicroserviceFoodItem item(String id, String name) {
+        return new MicroserviceFoodPageResponse.MicroserviceFoodItem(
+            id, name, null, 100, 100, 1.0, 1.0, 1.0, 0.0, "2024-01-01T00:00:00", "2024-01-01T00:00:00"
+        );
+    }
+}
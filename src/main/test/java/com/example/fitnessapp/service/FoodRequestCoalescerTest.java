@@ -0,0 +1,92 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodRequestCoalescerTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    void concurrentCallersForTheSameKeyShareOneCall() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FoodRequestCoalescer coalescer = new FoodRequestCoalescer(new FitnessAppProperties(), registry);
+        AtomicInteger issued = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> coalescer.execute("search", "chicken", () -> {
+                    issued.incrementAndGet();
+                    await(release);
+                    return "result";
+                })));
+            }
+            while (registry.counter("fitnessapp.food.coalescer.calls", "operation", "search", "outcome", "coalesced").count()
+                < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, issued.get());
+        assertEquals(1, registry.counter("fitnessapp.food.coalescer.calls", "operation", "search", "outcome", "issued").count());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void waitingCallersTimeOutAndFailuresAreShared() throws Exception {
+        FitnessAppProperties properties = new FitnessAppProperties();
+        properties.getMicroservice().getFood().setCoalesceTimeout(Duration.ofMillis(50));
+        FoodRequestCoalescer coalescer = new FoodRequestCoalescer(properties, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Object> leader = executor.submit(() -> coalescer.execute("getById", "7", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(FoodServiceUnavailableException.class,
+                () -> coalescer.execute("getById", "7", () -> "unused"));
+
+            release.countDown();
+            Exception failure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals("fresh", coalescer.execute("getById", "7", () -> "fresh"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
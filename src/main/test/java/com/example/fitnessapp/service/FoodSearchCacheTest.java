@@ -0,0 +1,77 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import com.example.fitnessapp.dto.FoodSearchResult;
+import com.example.fitnessapp.exception.FoodServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodSearchCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private FoodSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new FoodSearchCache(
+            new ConcurrentMapCacheManager(FoodSearchCache.CACHE_NAME), new FitnessAppProperties(), registry
+        );
+    }
+
+    @Test
+    void normalizesKeys() {
+        assertEquals("brown rice", FoodNameNormalizer.normalize("  Brown \tRICE "));
+        assertEquals("cafe latte", FoodNameNormalizer.normalize("ＣＡＦＥ  latte"));
+    }
+
+    @Test
+    void derivesLongerQueriesFromCompleteShorterPages() {
+        cache.put("ri", new FoodSearchResult(List.of(food("Rice"), food("Brown Rice"), food("Ricotta")), true));
+
+        List<FoodSearchResponse.FoodSearchItem> derived = cache.find("rice").orElseThrow();
+
+        assertEquals(List.of("Rice", "Brown Rice"), derived.stream().map(FoodSearchResponse.FoodSearchItem::name).toList());
+        assertEquals(1, count("derived"));
+    }
+
+    @Test
+    void doesNotDeriveFromIncompletePages() {
+        cache.put("ri", new FoodSearchResult(List.of(food("Rice")), false));
+
+        assertEquals(Optional.empty(), cache.find("rice"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void cachesEmptyResultsAndFailuresNegatively() {
+        cache.put("chikcen", new FoodSearchResult(List.of(), true));
+        assertEquals(List.of(), cache.find("chikcen").orElseThrow());
+        assertEquals(List.of(), cache.find("chikcen breast").orElseThrow());
+
+        cache.putFailure("salmon", new IllegalStateException("timeout"));
+        assertThrows(FoodServiceUnavailableException.class, () -> cache.find("salmon"));
+
+        cache.evictNegativeMatching("chikcen soup");
+        assertEquals(Optional.empty(), cache.find("chikcen"));
+        assertEquals(2, count("negative"));
+        assertEquals(1, count("derived"));
+        assertEquals(1, count("miss"));
+    }
+
+    private double count(String result) {
+        return registry.counter("fitnessapp.food.search.cache", "result", result).count();
+    }
+
+    private static FoodSearchResponse.FoodSearchItem food(String name) {
+        return new FoodSearchResponse.FoodSearchItem(name.toLowerCase(), name, "100g", 100);
+    }
+}
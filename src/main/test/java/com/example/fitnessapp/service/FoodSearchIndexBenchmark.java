@@ -0,0 +1,60 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FoodSearchIndexBenchmark {
+
+    static final int FOODS = 50_000;
+    private static final String[] WORDS = {
+        "chicken", "beef", "pork", "salmon", "tuna", "rice", "brown", "white", "grilled", "roasted",
+        "breast", "thigh", "apple", "banana", "oat", "milk", "cheddar", "yogurt", "greek", "bread"
+    };
+
+    @Param({"o", "ch", "chick", "grilled chi", "grilled c", "chikcen"})
+    public String query;
+
+    private FoodSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = corpus();
+    }
+
+    @Benchmark
+    public List<FoodSearchResponse.FoodSearchItem> search() {
+        return index.search(query, 20);
+    }
+
+    static FoodSearchIndex corpus() {
+        Random random = new Random(42);
+        List<FoodSearchResponse.FoodSearchItem> foods = new ArrayList<>(FOODS);
+        Map<String, Long> popularity = new HashMap<>();
+        foods.add(new FoodSearchResponse.FoodSearchItem("chicken", "Chicken", "100g", 165));
+        foods.add(new FoodSearchResponse.FoodSearchItem("chicken-breast", "Chicken Breast", "100g", 165));
+        foods.add(new FoodSearchResponse.FoodSearchItem("chickpeas", "Chickpeas", "100g", 164));
+        popularity.put("chicken breast", 1_000L);
+        for (int i = foods.size(); i < FOODS; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            foods.add(new FoodSearchResponse.FoodSearchItem("food-" + i, name, "100g", 100));
+        }
+        return FoodSearchIndex.build(foods, popularity);
+    }
+}
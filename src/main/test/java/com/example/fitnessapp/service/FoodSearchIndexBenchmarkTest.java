@@ -0,0 +1,74 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.FoodSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FoodSearchIndexBenchmarkTest {
+
+    private static final String[] QUERIES = {"ch", "chick", "grilled chi", "ban", "gre", "chikcen", "salmn", "o"};
+
+    private FoodSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = FoodSearchIndexBenchmark.corpus();
+    }
+
+    @Test
+    void ranksPrefixMatchesByPopularityAndFallsBackToFuzzy() {
+        List<FoodSearchResponse.FoodSearchItem> prefix = index.search("Chick", 3);
+        assertEquals(List.of("chicken-breast", "chicken", "chickpeas"), prefix.stream().map(FoodSearchResponse.FoodSearchItem::id).toList());
+
+        List<FoodSearchResponse.FoodSearchItem> typo = index.search("chikcen", 5);
+        assertFalse(typo.isEmpty());
+        assertTrue(typo.stream().allMatch(item -> item.name().toLowerCase().contains("chicken")));
+
+        assertEquals(7, index.search("breast", 7).size());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    @Test
+    void answersShortPrefixesFromThePrecomputedTopResults() {
+        assertEquals("chicken-breast", index.search("c", 1).get(0).id());
+        assertEquals("chicken-breast", index.search("Ch", 5).get(0).id());
+        assertEquals(50, index.search("b", 50).size());
+        assertEquals(60, index.search("b", 60).size());
+        assertTrue(index.search("zq", 10).isEmpty());
+    }
+
+    @Test
+    void answersEveryTypeaheadQueryWithinTheLimit() {
+        for (String query : QUERIES) {
+            List<FoodSearchResponse.FoodSearchItem> results = index.search(query, 20);
+            assertFalse(results.isEmpty(), query);
+            assertTrue(results.size() <= 20, query);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarksSearch() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(FoodSearchIndexBenchmark.class.getName() + ".search")
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .build()).run();
+
+        assertFalse(results.isEmpty());
+    }
+}
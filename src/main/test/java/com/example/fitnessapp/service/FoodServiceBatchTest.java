@@ -0,0 +1,81 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.client.ResilientFoodClient;
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.BatchFoodCalculationResponse;
+import com.example.fitnessapp.dto.FoodCalculationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FoodServiceBatchTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ResilientFoodClient foodClient;
+    private FoodService foodService;
+
+    @BeforeEach
+    void setUp() {
+        FitnessAppProperties properties = new FitnessAppProperties();
+        properties.getMicroservice().getFood().setBatchParallelism(1);
+        properties.getMicroservice().getFood().setBatchQueueCapacity(1);
+        properties.getMicroservice().getFood().setBatchTimeout(Duration.ofMillis(200));
+        foodClient = mock(ResilientFoodClient.class);
+        when(foodClient.searchFoods(anyString())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        foodService = new FoodService(
+            foodClient,
+            new NutrientVectorCache(properties, new SimpleMeterRegistry()),
+            mock(FoodRequestCoalescer.class),
+            mock(FoodSearchCache.class),
+            mock(FoodCacheInvalidator.class),
+            new ServingSizeParser(properties),
+            properties
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        foodService.shutdown();
+    }
+
+    @Test
+    void returnsPerItemErrorsWhenTheBatchExecutorIsSaturatedOrSlow() {
+        BatchFoodCalculationResponse response = foodService.calculateCaloriesBatch(List.of(
+            new FoodCalculationRequest("Rice", "100g", 1.0),
+            new FoodCalculationRequest("Oats", "100g", 1.0),
+            new FoodCalculationRequest("Beans", "100g", 1.0)
+        ));
+
+        assertEquals(3, response.totals().failed());
+        assertTrue(response.items().get(0).error().startsWith("Timed out"));
+        assertTrue(response.items().get(1).error().startsWith("Timed out"));
+        assertEquals("Batch calculation capacity exceeded, retry later", response.items().get(2).error());
+    }
+
+    @Test
+    void cancelsQueuedLookupsOnceTheDeadlineHasPassed() {
+        foodService.calculateCaloriesBatch(List.of(
+            new FoodCalculationRequest("Rice", "100g", 1.0),
+            new FoodCalculationRequest("Oats", "100g", 1.0)
+        ));
+        release.countDown();
+
+        verify(foodClient, after(200).times(1)).searchFoods(anyString());
+    }
+}
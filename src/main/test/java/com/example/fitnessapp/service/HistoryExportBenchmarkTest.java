@@ -0,0 +1,128 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.ExportMealRow;
+import com.example.fitnessapp.dto.ExportProgressRow;
+import com.example.fitnessapp.dto.ExportWorkoutRow;
+import com.example.fitnessapp.dto.HistoryExportRow;
+import com.example.fitnessapp.entities.MealType;
+import com.example.fitnessapp.entities.WorkoutType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryExportBenchmarkTest {
+
+    private static final long ROWS = 1_000_000;
+    private static final long SAMPLE_EVERY_BYTES = 8L * 1024 * 1024;
+    private static final long MAX_HEAP_GROWTH_BYTES = 16L * 1024 * 1024;
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void writesCsvAndNdjsonRows() throws IOException {
+        List<Supplier<? extends Stream<? extends HistoryExportRow>>> sources = List.of(
+            () -> Stream.of(new ExportMealRow(START, MealType.LUNCH, "Rice, \"white\"", "1 cup", 205, 4.3f, 44.5f, 0.4f)),
+            () -> Stream.of(new ExportWorkoutRow(START.atTime(7, 30), WorkoutType.CARDIO, 30, 250, "=cmd")),
+            () -> Stream.of(new ExportProgressRow(START, new BigDecimal("80.50"), null))
+        );
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(3, HistoryExportService.write(HistoryExportService.Format.CSV, csv, objectMapper, sources));
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(HistoryExportService.CSV_HEADER, lines[0]);
+        assertEquals("meal,2020-01-01,,LUNCH,\"Rice, \"\"white\"\"\",1 cup,205,,4.3,44.5,0.4,,,", lines[1]);
+        assertEquals("workout,2020-01-01,07:30,CARDIO,,,,250,,,,30,,\"'=cmd\"", lines[2]);
+        assertEquals("progress,2020-01-01,,,,,,,,,,,80.50,", lines[3]);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        assertEquals(3, HistoryExportService.write(HistoryExportService.Format.NDJSON, ndjson, objectMapper, sources));
+        String[] records = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, records.length);
+        assertTrue(records[0].startsWith("{\"record\":\"meal\",\"date\":\"2020-01-01\""));
+        assertTrue(records[1].contains("\"dateTime\":\"2020-01-01T07:30:00\""));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void keepsHeapFlatWhileStreamingAMillionRows() throws IOException {
+        for (HistoryExportService.Format format : HistoryExportService.Format.values()) {
+            HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+            long rows = HistoryExportService.write(format, out, objectMapper, List.of(() -> meals(ROWS)));
+
+            assertEquals(ROWS, rows);
+            assertTrue(out.samples >= 3);
+            assertTrue(out.growth() < MAX_HEAP_GROWTH_BYTES, "heap grew by " + out.growth() + " bytes");
+        }
+    }
+
+    private static Stream<ExportMealRow> meals(long count) {
+        MealType[] types = MealType.values();
+        return LongStream.range(0, count).mapToObj(i -> new ExportMealRow(
+            START.plusDays(i / 20),
+            types[(int) (i % types.length)],
+            "Food " + (i % 5_000),
+            "100g",
+            (int) (i % 900),
+            (float) (i % 60),
+            (float) (i % 120),
+            (float) (i % 40)
+        ));
+    }
+
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private long bytes;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+        private long baseline = -1;
+        private long peak;
+        private int samples;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            maybeSample();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            maybeSample();
+        }
+
+        long growth() {
+            return Math.max(0, peak - baseline);
+        }
+
+        private void maybeSample() {
+            if (bytes < nextSample) {
+                return;
+            }
+            nextSample += SAMPLE_EVERY_BYTES;
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            long used = runtime.totalMemory() - runtime.freeMemory();
+            if (baseline < 0) {
+                baseline = used;
+            }
+            peak = Math.max(peak, used);
+            samples++;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.BatchFoodCalculationResponse;
+import com.example.fitnessapp.dto.FoodCalculationResponse;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.EnrichmentStatus;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealEnrichmentTask;
+import com.example.fitnessapp.entities.MealType;
+import com.example.fitnessapp.entities.Role;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(excludeAutoConfiguration = {FeignAutoConfiguration.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+    MealEnrichmentWorker.class,
+    DailyLogService.class,
+    UserDailyRollupService.class,
+    UserMetricsStore.class,
+    SimpleMeterRegistry.class,
+    FitnessAppProperties.class
+})
+class MealEnrichmentWorkerJpaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MealEnrichmentWorker worker;
+
+    @MockBean
+    private FoodService foodService;
+
+    @Test
+    void completedEnrichmentUpdatesTheDailyLogAndRollupThroughALazyDailyLog() {
+        LocalDate today = LocalDate.now();
+        User user = new User();
+        user.setUsername("enrichment");
+        user.setEmail("enrichment@example.com");
+        user.setPassword("password123");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user.setActive(true);
+        entityManager.persist(user);
+
+        DailyLog log = new DailyLog();
+        log.setUser(user);
+        log.setDate(today);
+        log.setTotalCaloriesIn(0);
+        log.setTotalCaloriesOut(0);
+        entityManager.persist(log);
+
+        Meal meal = new Meal();
+        meal.setDailyLog(log);
+        meal.setMealType(MealType.DINNER);
+        meal.setFoodName("Rice");
+        meal.setServingSize("200g");
+        meal.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        entityManager.persist(meal);
+
+        MealEnrichmentTask task = new MealEnrichmentTask();
+        task.setMealId(meal.getId());
+        task.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        task.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        FoodCalculationResponse result = new FoodCalculationResponse("Rice", "200g", 1.0, 260, 5.0f, 56.0f, 0.5f);
+        when(foodService.calculateCaloriesBatch(anyList())).thenReturn(new BatchFoodCalculationResponse(
+            List.of(new BatchFoodCalculationResponse.Item(0, "Rice", "200g", 1.0, result, null)),
+            new BatchFoodCalculationResponse.Totals(260, 5.0f, 56.0f, 0.5f, 1, 0)
+        ));
+
+        assertEquals(1, worker.processBatch());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(EnrichmentStatus.COMPLETED, entityManager.find(Meal.class, meal.getId()).getEnrichmentStatus());
+        assertNull(entityManager.find(MealEnrichmentTask.class, task.getId()));
+        assertEquals(260, entityManager.find(DailyLog.class, log.getId()).getTotalCaloriesIn());
+        UserDailyRollup rollup = entityManager.find(UserDailyRollup.class, new UserDailyRollupId(user.getId(), today));
+        assertEquals(260, rollup.getCaloriesIn());
+        assertEquals(5.0, rollup.getProtein());
+    }
+}
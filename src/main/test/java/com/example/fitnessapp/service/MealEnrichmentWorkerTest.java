@@ -0,0 +1,208 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.BatchFoodCalculationResponse;
+import com.example.fitnessapp.dto.FoodCalculationRequest;
+import com.example.fitnessapp.dto.FoodCalculationResponse;
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.EnrichmentStatus;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealEnrichmentTask;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.repository.MealEnrichmentTaskRepository;
+import com.example.fitnessapp.repository.MealRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MealEnrichmentWorkerTest {
+
+    @Mock
+    private MealEnrichmentTaskRepository taskRepository;
+
+    @Mock
+    private MealRepository mealRepository;
+
+    @Mock
+    private DailyLogService dailyLogService;
+
+    @Mock
+    private UserDailyRollupService rollupService;
+
+    @Mock
+    private FoodService foodService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FitnessAppProperties properties;
+    private SimpleMeterRegistry registry;
+    private MealEnrichmentWorker worker;
+    private UUID userId;
+    private LocalDate today;
+    private DailyLog log;
+    private Meal meal;
+    private MealEnrichmentTask task;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FitnessAppProperties();
+        properties.getEnrichment().setMaxAttempts(2);
+        properties.getEnrichment().setInitialBackoff(Duration.ofSeconds(10));
+        registry = new SimpleMeterRegistry();
+        worker = new MealEnrichmentWorker(
+            taskRepository, mealRepository, dailyLogService, rollupService, foodService,
+            properties, transactionManager, registry
+        );
+        userId = UUID.randomUUID();
+        today = LocalDate.now();
+
+        User user = new User();
+        user.setId(userId);
+        log = new DailyLog();
+        log.setUser(user);
+        log.setDate(today);
+
+        meal = new Meal();
+        meal.setId(UUID.randomUUID());
+        meal.setDailyLog(log);
+        meal.setFoodName("Rice");
+        meal.setServingSize("200g");
+        meal.setEnrichmentStatus(EnrichmentStatus.PENDING);
+
+        task = new MealEnrichmentTask();
+        task.setId(UUID.randomUUID());
+        task.setMealId(meal.getId());
+        task.setNextAttemptAt(LocalDateTime.now());
+    }
+
+    @Test
+    void completesALeasedTaskAndAppliesTheNutritionDeltas() {
+        leaseTask();
+        when(mealRepository.findAllById(List.of(meal.getId()))).thenReturn(List.of(meal));
+        when(mealRepository.findById(meal.getId())).thenReturn(Optional.of(meal));
+        when(foodService.calculateCaloriesBatch(List.of(new FoodCalculationRequest("Rice", "200g", 1.0))))
+            .thenReturn(batch(success(260)));
+
+        assertEquals(1, worker.processBatch());
+
+        assertEquals(EnrichmentStatus.COMPLETED, meal.getEnrichmentStatus());
+        assertEquals(260, meal.getCalories());
+        verify(dailyLogService).applyMealCaloriesDelta(log, 260);
+        verify(rollupService).apply(userId, today, new RollupDelta(260, 0, 5.0, 56.0, 0.5, 0, 0, 0, 0, 0));
+        verify(taskRepository).deleteById(task.getId());
+        assertEquals(1, count("completed"));
+    }
+
+    @Test
+    void reschedulesAFailedItemWithBackoffThenGivesUpAtMaxAttempts() {
+        leaseTask();
+        when(mealRepository.findAllById(List.of(meal.getId()))).thenReturn(List.of(meal));
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(foodService.calculateCaloriesBatch(anyList())).thenReturn(batch(failure("Food not found: Rice")));
+        task.setLeaseOwner("worker");
+        task.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(2));
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.processBatch();
+
+        assertEquals(1, task.getAttempts());
+        assertNull(task.getLeaseOwner());
+        assertNull(task.getLeaseExpiresAt());
+        assertEquals("Food not found: Rice", task.getLastError());
+        assertFalse(task.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+        assertFalse(task.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(10)));
+        assertEquals(EnrichmentStatus.PENDING, meal.getEnrichmentStatus());
+        assertEquals(1, count("retried"));
+
+        when(mealRepository.findById(meal.getId())).thenReturn(Optional.of(meal));
+        worker.processBatch();
+
+        assertEquals(EnrichmentStatus.FAILED, meal.getEnrichmentStatus());
+        verify(taskRepository).delete(task);
+        assertEquals(1, count("failed"));
+        verifyNoInteractions(dailyLogService, rollupService);
+    }
+
+    @Test
+    void dropsTheTaskOfAMealDeletedWhileItWasPending() {
+        leaseTask();
+        when(mealRepository.findAllById(List.of(meal.getId()))).thenReturn(List.of());
+
+        assertEquals(1, worker.processBatch());
+
+        verify(taskRepository).deleteById(task.getId());
+        verifyNoInteractions(foodService, dailyLogService, rollupService);
+    }
+
+    @Test
+    void requeuesATaskWhoseMealWasEditedWhileLeased() {
+        leaseTask();
+        when(mealRepository.findAllById(List.of(meal.getId()))).thenReturn(List.of(meal));
+        when(foodService.calculateCaloriesBatch(anyList())).thenAnswer(invocation -> {
+            meal.setServingSize("300g");
+            return batch(success(260));
+        });
+        when(mealRepository.findById(meal.getId())).thenReturn(Optional.of(meal));
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        task.setLeaseOwner("worker");
+        task.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(2));
+        task.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+
+        worker.processBatch();
+
+        assertNull(task.getLeaseOwner());
+        assertNull(task.getLeaseExpiresAt());
+        assertFalse(task.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, task.getAttempts());
+        assertEquals(EnrichmentStatus.PENDING, meal.getEnrichmentStatus());
+        assertNull(meal.getCalories());
+        verify(taskRepository, never()).deleteById(any());
+        verifyNoInteractions(dailyLogService, rollupService);
+    }
+
+    private void leaseTask() {
+        when(taskRepository.findDueIds(any(), any())).thenReturn(List.of(task.getId()));
+        when(taskRepository.lease(anyList(), anyString(), any(), any())).thenReturn(1);
+        when(taskRepository.findByLeaseOwner(anyString())).thenReturn(List.of(task));
+    }
+
+    private static BatchFoodCalculationResponse batch(BatchFoodCalculationResponse.Item item) {
+        int succeeded = item.result() != null ? 1 : 0;
+        return new BatchFoodCalculationResponse(
+            List.of(item), new BatchFoodCalculationResponse.Totals(0, 0, 0, 0, succeeded, 1 - succeeded)
+        );
+    }
+
+    private static BatchFoodCalculationResponse.Item success(int calories) {
+        FoodCalculationResponse result = new FoodCalculationResponse("Rice", "200g", 1.0, calories, 5.0f, 56.0f, 0.5f);
+        return new BatchFoodCalculationResponse.Item(0, "Rice", "200g", 1.0, result, null);
+    }
+
+    private static BatchFoodCalculationResponse.Item failure(String error) {
+        return new BatchFoodCalculationResponse.Item(0, "Rice", "200g", 1.0, null, error);
+    }
+
+    private double count(String outcome) {
+        return registry.counter("fitnessapp.meals.enrichment", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.EnrichmentStatus;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealType;
+import com.example.fitnessapp.entities.Role;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(excludeAutoConfiguration = {FeignAutoConfiguration.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+    MealService.class,
+    DailyLogService.class,
+    UserDailyRollupService.class,
+    UserMetricsStore.class,
+    SimpleMeterRegistry.class,
+    FitnessAppProperties.class
+})
+class MealTotalsJpaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private DailyLogService dailyLogService;
+
+    @MockBean
+    private FoodService foodService;
+
+    @MockBean
+    private FoodPopularity foodPopularity;
+
+    private User user;
+    private DailyLog log;
+    private Meal meal;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        user = new User();
+        user.setUsername("mealtotals");
+        user.setEmail("mealtotals@example.com");
+        user.setPassword("password123");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user.setActive(true);
+        entityManager.persist(user);
+
+        log = new DailyLog();
+        log.setUser(user);
+        log.setDate(today);
+        log.setTotalCaloriesIn(400);
+        log.setTotalCaloriesOut(0);
+        entityManager.persist(log);
+
+        meal = new Meal();
+        meal.setDailyLog(log);
+        meal.setMealType(MealType.LUNCH);
+        meal.setFoodName("Rice");
+        meal.setServingSize("200g");
+        meal.setCalories(400);
+        meal.setEnrichmentStatus(EnrichmentStatus.NOT_REQUIRED);
+        entityManager.persist(meal);
+
+        UserDailyRollup rollup = new UserDailyRollup();
+        rollup.setId(new UserDailyRollupId(user.getId(), today));
+        rollup.setCaloriesIn(400);
+        entityManager.persist(rollup);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void updateMealAppliesTheCalorieChangeThroughALazyDailyLog() {
+        Meal updates = new Meal();
+        updates.setCalories(550);
+
+        mealService.updateMeal(meal.getId(), updates);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(550, entityManager.find(DailyLog.class, log.getId()).getTotalCaloriesIn());
+        assertEquals(550, rollup().getCaloriesIn());
+    }
+
+    @Test
+    void deleteMealRemovesItsCaloriesThroughALazyDailyLog() {
+        mealService.deleteMeal(meal.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(entityManager.find(Meal.class, meal.getId()));
+        assertEquals(0, entityManager.find(DailyLog.class, log.getId()).getTotalCaloriesIn());
+        assertEquals(0, rollup().getCaloriesIn());
+    }
+
+    @Test
+    void workoutDeltaForADayWithoutALogIsSkipped() {
+        assertDoesNotThrow(() -> dailyLogService.applyWorkoutCaloriesDeltaIfLogged(user.getId(), today.minusDays(400), -300));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, entityManager.find(DailyLog.class, log.getId()).getTotalCaloriesOut());
+    }
+
+    private UserDailyRollup rollup() {
+        return entityManager.find(UserDailyRollup.class, new UserDailyRollupId(user.getId(), today));
+    }
+}
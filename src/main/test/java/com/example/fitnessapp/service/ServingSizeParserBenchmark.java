@@ -0,0 +1,39 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ServingSizeParserBenchmark {
+
+    @Param({"150g", "1.5 kg", "1,000 g", "1 1/2 cups", "2 tablespoons", "a handful"})
+    public String servingSize;
+
+    private ServingSizeParser parser;
+
+    @Setup
+    public void setUp() {
+        parser = new ServingSizeParser(new FitnessAppProperties());
+    }
+
+    @Benchmark
+    public ServingSizeParser.ServingSize parse() {
+        return ServingSizeParser.parse(servingSize);
+    }
+
+    @Benchmark
+    public double toGrams() {
+        return parser.toGrams(servingSize, "Rice", null);
+    }
+}
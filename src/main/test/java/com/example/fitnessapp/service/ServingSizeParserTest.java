@@ -0,0 +1,84 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServingSizeParserTest {
+
+    private static final int CORPUS_SIZE = 10_000;
+    private static final String[][] UNITS = {
+        {"g", "1"}, {"grams", "1"}, {"kg", "1000"}, {"oz", "28.349523125"}, {"lbs", "453.59237"},
+        {"ml", "1"}, {"l", "1000"}, {"cups", "240"}, {"tbsp", "15"}, {"tsp", "5"}
+    };
+
+    private ServingSizeParser parser;
+
+    @BeforeEach
+    void setUp() {
+        FitnessAppProperties properties = new FitnessAppProperties();
+        properties.getMicroservice().getFood().getServingSizes().getDensities().put("Olive Oil", 0.91);
+        properties.getMicroservice().getFood().getServingSizes().getPieceWeights().put("egg", 50.0);
+        parser = new ServingSizeParser(properties);
+    }
+
+    @Test
+    void convertsKnownUnitsAndFormats() {
+        assertEquals(150, parser.toGrams("150g", "Rice", null), 1e-9);
+        assertEquals(1500, parser.toGrams("1.5 kg", "Rice", null), 1e-9);
+        assertEquals(1500, parser.toGrams("1,5 KG", "Rice", null), 1e-9);
+        assertEquals(1000, parser.toGrams("1,000 g", "Rice", null), 1e-9);
+        assertEquals(1_250_500, parser.toGrams("1,250.5 kg", "Rice", null), 1e-9);
+        assertEquals(12.5, parser.toGrams("12,50 g", "Rice", null), 1e-9);
+        assertEquals(360, parser.toGrams("1 1/2 cups", "Milk", null), 1e-9);
+        assertEquals(7.5, parser.toGrams("1/2 tbsp", "Milk", null), 1e-9);
+        assertEquals(13.65, parser.toGrams("1 tbsp", "olive  oil", null), 1e-9);
+        assertEquals(50, parser.toGrams("1 egg", "Egg", null), 1e-9);
+        assertEquals(120, parser.toGrams("2 large", "Banana", 60), 1e-9);
+        assertEquals(200, parser.toGrams("2", "Rice", null), 1e-9);
+        assertEquals(ServingSizeParser.DEFAULT_GRAMS, parser.toGrams("a handful", "Nuts", null), 1e-9);
+        assertEquals(ServingSizeParser.DEFAULT_GRAMS, parser.toGrams("", "Nuts", null), 1e-9);
+        assertEquals(ServingSizeParser.DEFAULT_GRAMS, parser.toGrams(null, "Nuts", null), 1e-9);
+        assertEquals(ServingSizeParser.DEFAULT_GRAMS, parser.toGrams("1/0 cup", "Nuts", null), 1e-9);
+    }
+
+    @Test
+    void generatedCorpusRoundTrips() {
+        Random random = new Random(7);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            String[] unit = UNITS[random.nextInt(UNITS.length)];
+            double quantity = Math.round(random.nextDouble() * 10_000_000) / 100.0 + 0.01;
+            String number = random.nextBoolean() ? String.format(Locale.ROOT, "%,.2f", quantity) : Double.toString(quantity);
+            String separator = random.nextBoolean() ? " " : "";
+            String unitText = random.nextBoolean() ? unit[0] : unit[0].toUpperCase(Locale.ROOT);
+            String input = (random.nextBoolean() ? "  " : "") + number + separator + unitText;
+
+            double expected = quantity * Double.parseDouble(unit[1]);
+            double grams = parser.toGrams(input, "Water", null);
+            assertEquals(expected, grams, Math.max(1e-6, expected * 1e-9), input);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarksParsing() throws RunnerException {
+        assertFalse(new Runner(new OptionsBuilder()
+            .include(ServingSizeParserBenchmark.class.getName())
+            .forks(1)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .build()).run().isEmpty());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.RollupRebuildResult;
+import com.example.fitnessapp.entities.DailyLog;
+import com.example.fitnessapp.entities.EnrichmentStatus;
+import com.example.fitnessapp.entities.Meal;
+import com.example.fitnessapp.entities.MealType;
+import com.example.fitnessapp.entities.Role;
+import com.example.fitnessapp.entities.User;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(
+    excludeAutoConfiguration = {FeignAutoConfiguration.class},
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+    UserDailyRollupService.class,
+    UserMetricsStore.class,
+    SimpleMeterRegistry.class,
+    FitnessAppProperties.class
+})
+class UserDailyRollupRebuildJpaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserDailyRollupService rollupService;
+
+    @Test
+    void rebuildInsertsRollupsWithoutASelectPerRow() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        User user = new User();
+        user.setUsername("rebuild");
+        user.setEmail("rebuild@example.com");
+        user.setPassword("password123");
+        user.setRoles(Set.of(Role.ROLE_USER));
+        user.setActive(true);
+        entityManager.persist(user);
+        persistMeal(user, yesterday, 300);
+        persistMeal(user, today, 450);
+
+        UserDailyRollup stale = new UserDailyRollup();
+        stale.setId(new UserDailyRollupId(user.getId(), today));
+        stale.setCaloriesIn(9999);
+        entityManager.persist(stale);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        RollupRebuildResult result = rollupService.rebuild(yesterday, today);
+        entityManager.flush();
+
+        assertEquals(2, result.rows());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(
+            statistics.getQueries().length + statistics.getEntityInsertCount(),
+            statistics.getPrepareStatementCount(),
+            "rebuild should only run its queries and inserts, without a select per rollup"
+        );
+        entityManager.clear();
+        assertEquals(300, rollup(user, yesterday).getCaloriesIn());
+        assertEquals(450, rollup(user, today).getCaloriesIn());
+    }
+
+    private void persistMeal(User user, LocalDate date, int calories) {
+        DailyLog log = new DailyLog();
+        log.setUser(user);
+        log.setDate(date);
+        log.setTotalCaloriesIn(calories);
+        log.setTotalCaloriesOut(0);
+        entityManager.persist(log);
+
+        Meal meal = new Meal();
+        meal.setDailyLog(log);
+        meal.setMealType(MealType.LUNCH);
+        meal.setFoodName("Rice");
+        meal.setServingSize("200g");
+        meal.setCalories(calories);
+        meal.setEnrichmentStatus(EnrichmentStatus.NOT_REQUIRED);
+        entityManager.persist(meal);
+    }
+
+    private UserDailyRollup rollup(User user, LocalDate date) {
+        return entityManager.find(UserDailyRollup.class, new UserDailyRollupId(user.getId(), date));
+    }
+}
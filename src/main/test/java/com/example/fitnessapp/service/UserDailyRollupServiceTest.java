@@ -0,0 +1,178 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.dto.RollupMealAggregate;
+import com.example.fitnessapp.dto.RollupRebuildResult;
+import com.example.fitnessapp.dto.RollupWeight;
+import com.example.fitnessapp.dto.RollupWorkoutAggregate;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.WorkoutType;
+import com.example.fitnessapp.repository.MealRepository;
+import com.example.fitnessapp.repository.ProgressRepository;
+import com.example.fitnessapp.repository.UserDailyRollupRepository;
+import com.example.fitnessapp.repository.WorkoutRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDailyRollupServiceTest {
+
+    @Mock
+    private UserDailyRollupRepository rollupRepository;
+
+    @Mock
+    private MealRepository mealRepository;
+
+    @Mock
+    private WorkoutRepository workoutRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Mock
+    private UserMetricsStore metricsStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FitnessAppProperties properties;
+    private UserDailyRollupService rollupService;
+    private UUID userId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FitnessAppProperties();
+        properties.getRetention().setDays(90);
+        rollupService = new UserDailyRollupService(
+            rollupRepository, mealRepository, workoutRepository, progressRepository,
+            metricsStore, properties, eventPublisher, transactionManager
+        );
+        userId = UUID.randomUUID();
+        today = LocalDate.now();
+    }
+
+    @Test
+    void applyAddsTheDeltaToTheDayAndPublishesIt() {
+        RollupDelta delta = new RollupDelta(450, 0, 30.5, 40, 12, 0, 0, 0, 0, 0);
+
+        rollupService.apply(userId, today, delta);
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).insertIfAbsent(userId, today);
+        inOrder.verify(rollupRepository).applyDelta(userId, today, 450, 0, 30.5, 40.0, 12.0, 0, 0, 0, 0, 0);
+        verify(eventPublisher).publishEvent(new UserRollupChangedEvent(userId, today, delta, null));
+    }
+
+    @Test
+    void applySkipsZeroDeltas() {
+        rollupService.apply(userId, today, RollupDelta.ZERO);
+
+        verifyNoInteractions(rollupRepository, eventPublisher);
+    }
+
+    @Test
+    void applyPropagatesInsertFailures() {
+        when(rollupRepository.insertIfAbsent(userId, today))
+            .thenThrow(new DataIntegrityViolationException("Column cannot be null"));
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> rollupService.apply(userId, today, new RollupDelta(200, 0, 0, 0, 0, 0, 0, 0, 0, 0)));
+        verify(rollupRepository, never()).applyDelta(any(), any(), anyInt(), anyInt(), anyDouble(), anyDouble(), anyDouble(),
+            anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void recordWeightSetsTheDaysLastWeight() {
+        rollupService.recordWeight(userId, today, new BigDecimal("72.40"));
+
+        verify(rollupRepository).insertIfAbsent(userId, today);
+        verify(rollupRepository).setLastWeight(userId, today, new BigDecimal("72.40"));
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void rebuildRecomputesRollupsFromSourceRows() {
+        LocalDate day = today.minusDays(3);
+        when(mealRepository.aggregateByUserAndDateBetween(day, today)).thenReturn(List.of(
+            new RollupMealAggregate(userId, day, 1_800L, 90.0, 200.0, 60.0)
+        ));
+        when(workoutRepository.aggregateByUserDateAndTypeBetween(day.atStartOfDay(), today.plusDays(1).atStartOfDay())).thenReturn(List.of(
+            new RollupWorkoutAggregate(userId, day, WorkoutType.CARDIO, 2L, 50L, 400L),
+            new RollupWorkoutAggregate(userId, day, WorkoutType.YOGA, 1L, 30L, 90L)
+        ));
+        when(progressRepository.findWeightsBetween(day, today)).thenReturn(List.of(
+            new RollupWeight(userId, day, new BigDecimal("71.20"))
+        ));
+
+        RollupRebuildResult result = rollupService.rebuild(day, today);
+
+        assertEquals(1, result.chunks());
+        assertEquals(1, result.rows());
+        verify(rollupRepository).deleteBetween(day, today);
+        UserDailyRollup rollup = savedRollups().get(0);
+        assertEquals(day, rollup.getId().getDate());
+        assertEquals(1_800, rollup.getCaloriesIn());
+        assertEquals(490, rollup.getCaloriesOut());
+        assertEquals(3, rollup.getWorkoutCount());
+        assertEquals(50, rollup.getCardioMinutes());
+        assertEquals(30, rollup.getYogaMinutes());
+        assertEquals(90.0, rollup.getProtein());
+        assertEquals(new BigDecimal("71.20"), rollup.getLastWeightKg());
+        verify(metricsStore).invalidateAll();
+    }
+
+    @Test
+    void rebuildNeverDeletesRollupsOlderThanTheRetentionCutoff() {
+        LocalDate cutoff = today.minusDays(90);
+
+        RollupRebuildResult result = rollupService.rebuild(today.minusDays(400), cutoff.plusDays(5));
+
+        assertEquals(cutoff, result.start());
+        assertEquals(1, result.chunks());
+        verify(rollupRepository).deleteBetween(cutoff, cutoff.plusDays(5));
+        verify(rollupRepository, times(1)).deleteBetween(any(), any());
+    }
+
+    @Test
+    void rebuildEntirelyBeforeTheRetentionCutoffLeavesRollupsAlone() {
+        RollupRebuildResult result = rollupService.rebuild(today.minusDays(400), today.minusDays(200));
+
+        assertEquals(0, result.chunks());
+        verify(rollupRepository, never()).deleteBetween(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserDailyRollup> savedRollups() {
+        ArgumentCaptor<Iterable<UserDailyRollup>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(rollupRepository).saveAll(saved.capture());
+        List<UserDailyRollup> rollups = new ArrayList<>();
+        saved.getValue().forEach(rollups::add);
+        return rollups;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMetricsSeriesTest {
+
+    private static final int DAYS = 3 * 365;
+
+    private final UUID userId = UUID.randomUUID();
+    private LocalDate today;
+    private int[] caloriesIn;
+    private int[] cardioMinutes;
+    private UserMetricsSeries series;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        today = LocalDate.of(2026, 3, 1);
+        LocalDate first = today.minusDays(DAYS - 1);
+        caloriesIn = new int[DAYS];
+        cardioMinutes = new int[DAYS];
+        List<UserDailyRollup> rollups = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            if (day % 7 != 0 && random.nextInt(5) == 0) {
+                continue;
+            }
+            UserDailyRollup rollup = new UserDailyRollup();
+            rollup.setId(new UserDailyRollupId(userId, first.plusDays(day)));
+            caloriesIn[day] = 1_200 + random.nextInt(2_000);
+            cardioMinutes[day] = random.nextInt(60);
+            rollup.setCaloriesIn(caloriesIn[day]);
+            rollup.setCardioMinutes(cardioMinutes[day]);
+            rollup.setWorkoutCount(cardioMinutes[day] > 0 ? 1 : 0);
+            rollup.setProtein(80.5);
+            if (day % 7 == 0) {
+                rollup.setLastWeightKg(BigDecimal.valueOf(80 - day / 100.0).setScale(2, RoundingMode.HALF_UP));
+            }
+            rollups.add(rollup);
+        }
+        series = UserMetricsSeries.build(rollups, today, 31);
+    }
+
+    @Test
+    void rangeSumsMatchNaiveSumsAcrossUpdates() {
+        Random random = new Random(11);
+        LocalDate first = series.firstDate();
+        for (int round = 0; round < 500; round++) {
+            int day = random.nextInt(DAYS);
+            int delta = random.nextInt(600) - 300;
+            caloriesIn[day] += delta;
+            assertTrue(series.apply(first.plusDays(day), new RollupDelta(delta, 0, 0, 0, 0, 0, 0, 0, 0, 0), null));
+
+            int from = random.nextInt(DAYS);
+            int to = from + random.nextInt(DAYS - from);
+            long expected = 0;
+            for (int i = from; i <= to; i++) {
+                expected += caloriesIn[i];
+            }
+            assertEquals(expected, (long) series.sum(UserMetricsSeries.Metric.CALORIES_IN, first.plusDays(from), first.plusDays(to)));
+        }
+
+        long cardio = 0;
+        for (int minutes : cardioMinutes) {
+            cardio += minutes;
+        }
+        assertEquals(cardio, (long) series.sum(UserMetricsSeries.Metric.CARDIO_MINUTES, first.minusYears(1), today.plusYears(1)));
+        assertEquals(0, series.sum(UserMetricsSeries.Metric.CALORIES_IN, first.minusDays(30), first.minusDays(1)));
+    }
+
+    @Test
+    void tracksFirstAndLastWeightAndRejectsDatesOutsideTheSeries() {
+        LocalDate first = series.firstDate();
+        assertEquals(new BigDecimal("80.00"), series.firstWeight(first, today));
+        assertNull(series.firstWeight(first.plusDays(1), first.plusDays(6)));
+
+        assertTrue(series.apply(today.plusDays(3), RollupDelta.ZERO, new BigDecimal("75.40")));
+        assertEquals(new BigDecimal("75.40"), series.lastWeight(first, today.plusDays(10)));
+
+        assertTrue(series.covers(today.plusDays(31)));
+        assertFalse(series.apply(today.plusDays(32), RollupDelta.ZERO, BigDecimal.ONE));
+        assertFalse(series.apply(first.minusDays(1), RollupDelta.ZERO, BigDecimal.ONE));
+    }
+}
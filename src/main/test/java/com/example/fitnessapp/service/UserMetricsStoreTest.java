@@ -0,0 +1,77 @@
+package com.example.fitnessapp.service;
+
+import com.example.fitnessapp.config.FitnessAppProperties;
+import com.example.fitnessapp.dto.RollupDelta;
+import com.example.fitnessapp.entities.UserDailyRollup;
+import com.example.fitnessapp.entities.UserDailyRollupId;
+import com.example.fitnessapp.repository.UserDailyRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserMetricsStoreTest {
+
+    @Mock
+    private UserDailyRollupRepository rollupRepository;
+
+    private UserMetricsStore store;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        store = new UserMetricsStore(rollupRepository, new FitnessAppProperties(), new SimpleMeterRegistry());
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void keepsASeriesLoadedWithoutConcurrentChanges() {
+        when(rollupRepository.findByIdUserIdOrderByIdDateAsc(userId)).thenReturn(List.of());
+
+        assertSame(store.get(userId), store.get(userId));
+        verify(rollupRepository, times(1)).findByIdUserIdOrderByIdDateAsc(userId);
+    }
+
+    @Test
+    void discardsASeriesWhoseRollupsChangedWhileLoading() {
+        RollupDelta delta = new RollupDelta(100, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        when(rollupRepository.findByIdUserIdOrderByIdDateAsc(userId)).thenAnswer(invocation -> {
+            store.onRollupChanged(new UserRollupChangedEvent(userId, LocalDate.now(), delta, null));
+            return List.of();
+        }).thenReturn(List.of());
+
+        UserMetricsSeries stale = store.get(userId);
+        UserMetricsSeries reloaded = store.get(userId);
+
+        assertNotSame(stale, reloaded);
+        assertSame(reloaded, store.get(userId));
+        verify(rollupRepository, times(2)).findByIdUserIdOrderByIdDateAsc(userId);
+    }
+
+    @Test
+    void doesNotCountAChangeTwiceWhenASeriesLoadsBetweenCommitAndTheListener() {
+        LocalDate today = LocalDate.now();
+        UserDailyRollup committed = new UserDailyRollup();
+        committed.setId(new UserDailyRollupId(userId, today));
+        committed.setCaloriesIn(100);
+        when(rollupRepository.findByIdUserIdOrderByIdDateAsc(userId)).thenReturn(List.of(committed));
+
+        UserMetricsSeries loadedAfterCommit = store.get(userId);
+        store.onRollupChanged(new UserRollupChangedEvent(userId, today, new RollupDelta(100, 0, 0, 0, 0, 0, 0, 0, 0, 0), null));
+        UserMetricsSeries current = store.get(userId);
+
+        assertEquals(100, loadedAfterCommit.sum(UserMetricsSeries.Metric.CALORIES_IN, today, today));
+        assertEquals(100, current.sum(UserMetricsSeries.Metric.CALORIES_IN, today, today));
+        verify(rollupRepository, times(2)).findByIdUserIdOrderByIdDateAsc(userId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.fitnessapp.service;
 
+import com.example.fitnessapp.dto.RollupDelta;
 import com.example.fitnessapp.entities.User;
 import com.example.fitnessapp.entities.Workout;
 import com.example.fitnessapp.entities.WorkoutType;
@@ -18,6 +19,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +34,9 @@ class WorkoutServiceTest {
     @Mock
     private DailyLogService dailyLogService;
 
+    @Mock
+    private UserDailyRollupService rollupService;
+
     @InjectMocks
     private WorkoutService workoutService;
 
@@ -68,7 +73,8 @@ class WorkoutServiceTest {
         assertEquals(testUser, result.getUser());
         assertNotNull(result.getCaloriesBurned());
         verify(workoutRepository, times(1)).save(any(Workout.class));
-        verify(dailyLogService, times(1)).computeDailyTotals(any(UUID.class), any());
+        verify(dailyLogService, times(1)).applyWorkoutCaloriesDelta(eq(userId), any(), eq(result.getCaloriesBurned().intValue()));
+        verify(dailyLogService, never()).computeDailyTotals(any(UUID.class), any());
     }
 
     @Test
@@ -92,12 +98,37 @@ class WorkoutServiceTest {
         verify(workoutRepository, times(1)).save(any(Workout.class));
     }
 
+    @Test
+    void testUpdateWorkoutMovedToAnotherDay() {
+        UUID workoutId = UUID.randomUUID();
+        LocalDateTime originalTime = LocalDateTime.of(2026, 3, 10, 7, 0);
+        testWorkout.setId(workoutId);
+        testWorkout.setUser(testUser);
+        testWorkout.setDateTime(originalTime);
+        testWorkout.setCaloriesBurned(300);
+
+        Workout updates = new Workout();
+        updates.setDateTime(originalTime.plusDays(1));
+
+        when(workoutRepository.findById(workoutId)).thenReturn(java.util.Optional.of(testWorkout));
+        when(workoutRepository.save(any(Workout.class))).thenReturn(testWorkout);
+
+        workoutService.updateWorkout(workoutId, updates, false);
+
+        RollupDelta moved = new RollupDelta(0, 300, 0, 0, 0, 1, 30, 0, 0, 0);
+        verify(dailyLogService).applyWorkoutCaloriesDeltaIfLogged(userId, originalTime.toLocalDate(), -300);
+        verify(dailyLogService).applyWorkoutCaloriesDelta(userId, originalTime.toLocalDate().plusDays(1), 300);
+        verify(rollupService).apply(userId, originalTime.toLocalDate(), moved.negate());
+        verify(rollupService).apply(userId, originalTime.toLocalDate().plusDays(1), moved);
+    }
+
     @Test
     void testDeleteWorkout() {
         UUID workoutId = UUID.randomUUID();
         testWorkout.setId(workoutId);
         testWorkout.setUser(testUser);
         testWorkout.setDateTime(LocalDateTime.now());
+        testWorkout.setCaloriesBurned(280);
 
         when(workoutRepository.findById(workoutId)).thenReturn(java.util.Optional.of(testWorkout));
         doNothing().when(workoutRepository).delete(any(Workout.class));
@@ -105,7 +136,8 @@ class WorkoutServiceTest {
         workoutService.deleteWorkout(workoutId);
 
         verify(workoutRepository, times(1)).delete(any(Workout.class));
-        verify(dailyLogService, times(1)).computeDailyTotals(any(UUID.class), any());
+        verify(dailyLogService, times(1)).applyWorkoutCaloriesDelta(eq(userId), any(), eq(-280));
+        verify(dailyLogService, never()).computeDailyTotals(any(UUID.class), any());
     }
 }
 